@@ -0,0 +1,7 @@
+# Generated @Bindable accessor tables are found by name, relative to the class they describe, with
+# Class.forName. Without these rules R8 would rename or remove the tables, and ReflectedProperty
+# would silently fall back to reflection.
+-keepnames @com.bindroid.utils.Bindable class *
+-keep class **$$Accessors {
+    public <init>();
+}
@@ -1,11 +1,21 @@
 package com.bindroid;
 
+import com.bindroid.trackable.Subscription;
 import com.bindroid.trackable.Trackable;
 import com.bindroid.trackable.Tracker;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.BooleanProperty;
+import com.bindroid.utils.DoubleProperty;
+import com.bindroid.utils.EqualityComparer;
+import com.bindroid.utils.Function;
+import com.bindroid.utils.IntProperty;
+import com.bindroid.utils.ObjectUtilities;
 import com.bindroid.utils.Property;
 import com.bindroid.utils.WeakenedProperty;
 
 import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 /**
  * Allows two trackable properties to be bound together such that their values remain in sync. It
@@ -60,11 +70,378 @@ public class Binding {
         }
     }
 
-    private Property<?> targetProperty;
-    private Property<?> sourceProperty;
-    private Tracker sourceTracker;
-    private Tracker targetTracker;
-    private ValueConverter converter;
+    /**
+     * Returned by the reader of a weakened property once the property has been garbage collected.
+     */
+    private static final Object COLLECTED = new Object();
+
+    /**
+     * Considers two values equal only if they are equal and immutable (null, strings, boxed
+     * primitives, BigInteger, BigDecimal and enums). Other objects, including mutable Numbers such
+     * as AtomicInteger, may have changed in place since they were last applied, so writes of them
+     * are never skipped.
+     */
+    private static final EqualityComparer<Object> immutableValueComparer =
+            new EqualityComparer<Object>() {
+                @Override
+                public boolean equals(Object obj1, Object obj2) {
+                    if (obj1 == null || obj2 == null) {
+                        return obj1 == obj2;
+                    }
+                    return Binding.isImmutable(obj1) && ObjectUtilities.equals(obj1, obj2);
+                }
+            };
+
+    private static boolean isImmutable(Object value) {
+        Class<?> type = value.getClass();
+        // BigInteger and BigDecimal are matched exactly, since they may be subclassed.
+        return value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Double || value instanceof Float || value instanceof Short
+                || value instanceof Byte || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum || type == BigInteger.class || type == BigDecimal.class;
+    }
+
+    /**
+     * @return The EqualityComparer used to skip redundant writes when none is given to a Binding. It
+     * only considers immutable values (null, strings, boxed primitives, BigInteger, BigDecimal and
+     * enums) to be equal.
+     */
+    public static EqualityComparer<Object> getDefaultComparer() {
+        return Binding.immutableValueComparer;
+    }
+
+    /**
+     * Reads one property of the binding while tracking it, converts the value, and writes it to the
+     * other. A Transfer is chosen for each direction of the binding when it is constructed, based on
+     * its mode, its converter, and the kinds of its properties, so applying a change does no more
+     * than that.
+     * <p>
+     * Each Transfer remembers the last value it wrote and skips writing an equal one. In a two-way
+     * binding, the value each direction reads is also remembered by the opposite direction, since
+     * its property already holds that value; this keeps a change from bouncing back.
+     */
+    private static abstract class Transfer {
+        /**
+         * @return false if a weakened property has been garbage collected, in which case the binding
+         * can never apply again.
+         */
+        abstract boolean apply(Subscription subscription);
+    }
+
+    /**
+     * Transfers boxed values, optionally through a {@link ValueConverter}.
+     */
+    private static final class BoxedTransfer extends Transfer {
+        private final Function<Object> reader;
+        private final Action<Object> writer;
+        private final Property<?> destination;
+        private final ValueConverter converter;
+        private final boolean toTarget;
+        private final EqualityComparer<Object> comparer;
+        private BoxedTransfer reverse;
+        private Object lastValue;
+        private boolean hasLastValue;
+
+        BoxedTransfer(Function<Object> reader, Action<Object> writer, Property<?> destination,
+                      ValueConverter converter, boolean toTarget,
+                      EqualityComparer<Object> comparer) {
+            this.reader = reader;
+            this.writer = writer;
+            this.destination = destination;
+            this.converter = converter;
+            this.toTarget = toTarget;
+            this.comparer = comparer;
+        }
+
+        void remember(Object value) {
+            if (this.comparer != null) {
+                this.lastValue = value;
+                this.hasLastValue = true;
+            }
+        }
+
+        @Override
+        boolean apply(Subscription subscription) {
+            Object value = Trackable.track(subscription, this.reader);
+            if (value == COLLECTED) {
+                return false;
+            }
+            if (this.reverse != null) {
+                this.reverse.remember(value);
+            }
+            if (this.converter != null) {
+                Class<?> type = this.destination.getType();
+                value = this.toTarget ? this.converter.convertToTarget(value, type)
+                        : this.converter.convertToSource(value, type);
+            }
+            if (this.hasLastValue && this.comparer.equals(this.lastValue, value)) {
+                return true;
+            }
+            this.writer.invoke(value);
+            this.remember(value);
+            return true;
+        }
+    }
+
+    /**
+     * Transfers values from or to an {@link IntProperty} without boxing them. The other property is
+     * either another IntProperty, or any property of type int, such as a ReflectedProperty over an
+     * int getter and setter, whose values are boxed only as they are read from or written to it.
+     * Values are otherwise only boxed to be compared by a comparer other than the default one.
+     */
+    private static final class IntTransfer extends Transfer implements Action<Void> {
+        private final Property<?> from;
+        private final Property<?> to;
+        private final ValueConverter converter;
+        private final boolean toTarget;
+        private final EqualityComparer<Object> comparer;
+        private IntTransfer reverse;
+        private Property<?> reading;
+        private int value;
+        private int lastValue;
+        private boolean hasLastValue;
+
+        IntTransfer(Property<?> from, Property<?> to, ValueConverter converter, boolean toTarget,
+                    EqualityComparer<Object> comparer) {
+            this.from = from;
+            this.to = to;
+            this.converter = converter;
+            this.toTarget = toTarget;
+            this.comparer = comparer;
+        }
+
+        void remember(int value) {
+            if (this.comparer != null) {
+                this.lastValue = value;
+                this.hasLastValue = true;
+            }
+        }
+
+        @Override
+        public void invoke(Void parameter) {
+            Property<?> reading = this.reading;
+            this.value = reading instanceof IntProperty ? ((IntProperty) reading).getInt()
+                    : (Integer) reading.getGetter().evaluate();
+        }
+
+        private boolean isUnchanged(int value) {
+            if (!this.hasLastValue) {
+                return false;
+            }
+            if (this.comparer == immutableValueComparer) {
+                return this.lastValue == value;
+            }
+            return this.comparer.equals(this.lastValue, value);
+        }
+
+        @Override
+        boolean apply(Subscription subscription) {
+            Property<?> from = Binding.unweaken(this.from);
+            Property<?> to = Binding.unweaken(this.to);
+            if (from == null || to == null) {
+                return false;
+            }
+            this.reading = from;
+            try {
+                Trackable.track(subscription, this);
+            } finally {
+                this.reading = null;
+            }
+            int value = this.value;
+            if (this.reverse != null) {
+                this.reverse.remember(value);
+            }
+            if (this.converter != null) {
+                Class<?> type = to.getType();
+                value = this.toTarget ? this.converter.convertIntToTarget(value, type)
+                        : this.converter.convertIntToSource(value, type);
+            }
+            if (this.isUnchanged(value)) {
+                return true;
+            }
+            if (to instanceof IntProperty) {
+                ((IntProperty) to).setInt(value);
+            } else {
+                Binding.setBoxed(to, value);
+            }
+            this.remember(value);
+            return true;
+        }
+    }
+
+    /**
+     * The double equivalent of {@link IntTransfer}, for a {@link DoubleProperty}. The default
+     * comparer is reproduced with {@link Double#doubleToLongBits(double)}, so that, as with
+     * {@link Double#equals(Object)}, NaN equals itself and 0.0 differs from -0.0.
+     */
+    private static final class DoubleTransfer extends Transfer implements Action<Void> {
+        private final Property<?> from;
+        private final Property<?> to;
+        private final ValueConverter converter;
+        private final boolean toTarget;
+        private final EqualityComparer<Object> comparer;
+        private DoubleTransfer reverse;
+        private Property<?> reading;
+        private double value;
+        private double lastValue;
+        private boolean hasLastValue;
+
+        DoubleTransfer(Property<?> from, Property<?> to, ValueConverter converter,
+                       boolean toTarget, EqualityComparer<Object> comparer) {
+            this.from = from;
+            this.to = to;
+            this.converter = converter;
+            this.toTarget = toTarget;
+            this.comparer = comparer;
+        }
+
+        void remember(double value) {
+            if (this.comparer != null) {
+                this.lastValue = value;
+                this.hasLastValue = true;
+            }
+        }
+
+        @Override
+        public void invoke(Void parameter) {
+            Property<?> reading = this.reading;
+            this.value = reading instanceof DoubleProperty ? ((DoubleProperty) reading).getDouble()
+                    : (Double) reading.getGetter().evaluate();
+        }
+
+        private boolean isUnchanged(double value) {
+            if (!this.hasLastValue) {
+                return false;
+            }
+            if (this.comparer == immutableValueComparer) {
+                return Double.doubleToLongBits(this.lastValue) == Double.doubleToLongBits(value);
+            }
+            return this.comparer.equals(this.lastValue, value);
+        }
+
+        @Override
+        boolean apply(Subscription subscription) {
+            Property<?> from = Binding.unweaken(this.from);
+            Property<?> to = Binding.unweaken(this.to);
+            if (from == null || to == null) {
+                return false;
+            }
+            this.reading = from;
+            try {
+                Trackable.track(subscription, this);
+            } finally {
+                this.reading = null;
+            }
+            double value = this.value;
+            if (this.reverse != null) {
+                this.reverse.remember(value);
+            }
+            if (this.converter != null) {
+                Class<?> type = to.getType();
+                value = this.toTarget ? this.converter.convertDoubleToTarget(value, type)
+                        : this.converter.convertDoubleToSource(value, type);
+            }
+            if (this.isUnchanged(value)) {
+                return true;
+            }
+            if (to instanceof DoubleProperty) {
+                ((DoubleProperty) to).setDouble(value);
+            } else {
+                Binding.setBoxed(to, value);
+            }
+            this.remember(value);
+            return true;
+        }
+    }
+
+    /**
+     * The boolean equivalent of {@link IntTransfer}, for a {@link BooleanProperty}.
+     */
+    private static final class BooleanTransfer extends Transfer implements Action<Void> {
+        private final Property<?> from;
+        private final Property<?> to;
+        private final ValueConverter converter;
+        private final boolean toTarget;
+        private final EqualityComparer<Object> comparer;
+        private BooleanTransfer reverse;
+        private Property<?> reading;
+        private boolean value;
+        private boolean lastValue;
+        private boolean hasLastValue;
+
+        BooleanTransfer(Property<?> from, Property<?> to, ValueConverter converter,
+                        boolean toTarget, EqualityComparer<Object> comparer) {
+            this.from = from;
+            this.to = to;
+            this.converter = converter;
+            this.toTarget = toTarget;
+            this.comparer = comparer;
+        }
+
+        void remember(boolean value) {
+            if (this.comparer != null) {
+                this.lastValue = value;
+                this.hasLastValue = true;
+            }
+        }
+
+        @Override
+        public void invoke(Void parameter) {
+            Property<?> reading = this.reading;
+            this.value = reading instanceof BooleanProperty
+                    ? ((BooleanProperty) reading).getBoolean()
+                    : (Boolean) reading.getGetter().evaluate();
+        }
+
+        private boolean isUnchanged(boolean value) {
+            if (!this.hasLastValue) {
+                return false;
+            }
+            if (this.comparer == immutableValueComparer) {
+                return this.lastValue == value;
+            }
+            return this.comparer.equals(this.lastValue, value);
+        }
+
+        @Override
+        boolean apply(Subscription subscription) {
+            Property<?> from = Binding.unweaken(this.from);
+            Property<?> to = Binding.unweaken(this.to);
+            if (from == null || to == null) {
+                return false;
+            }
+            this.reading = from;
+            try {
+                Trackable.track(subscription, this);
+            } finally {
+                this.reading = null;
+            }
+            boolean value = this.value;
+            if (this.reverse != null) {
+                this.reverse.remember(value);
+            }
+            if (this.converter != null) {
+                Class<?> type = to.getType();
+                value = this.toTarget ? this.converter.convertBooleanToTarget(value, type)
+                        : this.converter.convertBooleanToSource(value, type);
+            }
+            if (this.isUnchanged(value)) {
+                return true;
+            }
+            if (to instanceof BooleanProperty) {
+                ((BooleanProperty) to).setBoolean(value);
+            } else {
+                Binding.setBoxed(to, value);
+            }
+            this.remember(value);
+            return true;
+        }
+    }
+
+    private Subscription sourceSubscription;
+    private Subscription targetSubscription;
+    private Transfer sourceToTarget;
+    private Transfer targetToSource;
     private BindingMode mode;
     private boolean isLoggingEnabled;
 
@@ -92,7 +469,8 @@ public class Binding {
     }
 
     /**
-     * Constructs a binding between the given properties.
+     * Constructs a binding between the given properties. Writes of values equal to the last value
+     * written in the same direction are skipped using {@link #getDefaultComparer()}.
      *
      * @param targetProperty The target property.
      * @param sourceProperty The source property.
@@ -101,11 +479,36 @@ public class Binding {
      */
     public Binding(Property<?> targetProperty, Property<?> sourceProperty, BindingMode mode,
                    ValueConverter converter) {
+        this(targetProperty, sourceProperty, mode, converter, Binding.getDefaultComparer());
+    }
+
+    /**
+     * Constructs a binding between the given properties.
+     *
+     * @param targetProperty The target property.
+     * @param sourceProperty The source property.
+     * @param mode           The BindingMode for the binding.
+     * @param converter      A ValueConverter to be applied whenever changes are detected.
+     * @param comparer       Decides whether a converted value equals the last value written in the
+     *                       same direction, in which case it is not written again. Bindings between
+     *                       primitive properties compare unboxed values when this is the default
+     *                       comparer, and box them only to call any other. If null, every value is
+     *                       written.
+     */
+    public Binding(Property<?> targetProperty, Property<?> sourceProperty, BindingMode mode,
+                   ValueConverter converter, EqualityComparer<Object> comparer) {
         this.weakToMe = new WeakReference<Binding>(this);
         this.mode = mode;
 
-        this.sourceTracker = new SourceTracker(sourceProperty);
-        this.targetTracker = new TargetTracker(targetProperty);
+        // Each direction only needs a subscription if the binding can apply in that direction.
+        if (mode != BindingMode.ONE_WAY_TO_SOURCE) {
+            this.sourceSubscription = new Subscription(new SourceTracker(sourceProperty));
+        }
+        if (mode != BindingMode.ONE_WAY) {
+            this.targetSubscription = new Subscription(new TargetTracker(targetProperty));
+        }
+        WeakReference<?> targetOwner = targetProperty.getWeakOwner();
+        WeakReference<?> sourceOwner = sourceProperty.getWeakOwner();
 
         // Weaken the property references to allow the source/target to be GC'd if all other references
         // are gone.
@@ -115,26 +518,177 @@ public class Binding {
             targetProperty = WeakenedProperty.weaken(targetProperty);
         }
 
-        this.targetProperty = targetProperty;
-        this.sourceProperty = sourceProperty;
-        this.converter = converter;
+        if (converter == ValueConverter.getDefaultConverter()) {
+            converter = null;
+        }
+        if (mode == BindingMode.TWO_WAY || mode == BindingMode.ONE_WAY) {
+            this.sourceToTarget = Binding.makeTransfer(sourceProperty, targetProperty, converter,
+                    true, comparer);
+        }
+        if (mode == BindingMode.TWO_WAY || mode == BindingMode.ONE_WAY_TO_SOURCE) {
+            this.targetToSource = Binding.makeTransfer(targetProperty, sourceProperty, converter,
+                    false, comparer);
+        }
+        Binding.pair(this.sourceToTarget, this.targetToSource);
+        this.disposeWhenCollected(targetOwner);
+        if (sourceOwner == null || targetOwner == null || sourceOwner.get() != targetOwner.get()) {
+            this.disposeWhenCollected(sourceOwner);
+        }
         this.isLoggingEnabled = false;
         this.initializeBinding();
     }
 
+    /**
+     * Chooses the Transfer for one direction of a binding.
+     *
+     * @return the Transfer, or null if the properties cannot be read from and written to.
+     */
+    private static Transfer makeTransfer(Property<?> from, Property<?> to,
+                                         ValueConverter converter, boolean toTarget,
+                                         EqualityComparer<Object> comparer) {
+        if (from.getGetter() == null || to.getSetter() == null) {
+            return null;
+        }
+        Property<?> unweakenedFrom = Binding.unweaken(from);
+        Property<?> unweakenedTo = Binding.unweaken(to);
+        if (unweakenedFrom != null && unweakenedTo != null) {
+            if (Binding.isPrimitivePair(unweakenedFrom, unweakenedTo, IntProperty.class,
+                    int.class)) {
+                return new IntTransfer(from, to, converter, toTarget, comparer);
+            }
+            if (Binding.isPrimitivePair(unweakenedFrom, unweakenedTo, DoubleProperty.class,
+                    double.class)) {
+                return new DoubleTransfer(from, to, converter, toTarget, comparer);
+            }
+            if (Binding.isPrimitivePair(unweakenedFrom, unweakenedTo, BooleanProperty.class,
+                    boolean.class)) {
+                return new BooleanTransfer(from, to, converter, toTarget, comparer);
+            }
+        }
+        return new BoxedTransfer(Binding.makeReader(from), Binding.makeWriter(to), to, converter,
+                toTarget, comparer);
+    }
+
+    /**
+     * @return whether a primitive Transfer can carry values between the properties: at least one of
+     * them is a property of the given primitive kind, and the other is too or has the matching
+     * primitive type.
+     */
+    private static boolean isPrimitivePair(Property<?> from, Property<?> to,
+                                           Class<? extends Property<?>> kind, Class<?> type) {
+        boolean isFromOfKind = kind.isInstance(from);
+        boolean isToOfKind = kind.isInstance(to);
+        if (!isFromOfKind && !isToOfKind) {
+            return false;
+        }
+        return (isFromOfKind || from.getType() == type) && (isToOfKind || to.getType() == type);
+    }
+
+    /**
+     * Writes a value to a property through its boxed setter.
+     */
+    @SuppressWarnings("unchecked")
+    private static void setBoxed(Property<?> property, Object value) {
+        ((Action<Object>) property.getSetter()).invoke(value);
+    }
+
+    /**
+     * Lets each direction of a two-way binding remember the values read by the other.
+     */
+    private static void pair(Transfer sourceToTarget, Transfer targetToSource) {
+        if (sourceToTarget instanceof BoxedTransfer && targetToSource instanceof BoxedTransfer) {
+            ((BoxedTransfer) sourceToTarget).reverse = (BoxedTransfer) targetToSource;
+            ((BoxedTransfer) targetToSource).reverse = (BoxedTransfer) sourceToTarget;
+        } else if (sourceToTarget instanceof IntTransfer && targetToSource instanceof IntTransfer) {
+            ((IntTransfer) sourceToTarget).reverse = (IntTransfer) targetToSource;
+            ((IntTransfer) targetToSource).reverse = (IntTransfer) sourceToTarget;
+        } else if (sourceToTarget instanceof DoubleTransfer
+                && targetToSource instanceof DoubleTransfer) {
+            ((DoubleTransfer) sourceToTarget).reverse = (DoubleTransfer) targetToSource;
+            ((DoubleTransfer) targetToSource).reverse = (DoubleTransfer) sourceToTarget;
+        } else if (sourceToTarget instanceof BooleanTransfer
+                && targetToSource instanceof BooleanTransfer) {
+            ((BooleanTransfer) sourceToTarget).reverse = (BooleanTransfer) targetToSource;
+            ((BooleanTransfer) targetToSource).reverse = (BooleanTransfer) sourceToTarget;
+        }
+    }
+
+    /**
+     * @return the getter of the property, or for a weakened property a function that looks up the
+     * getter on each evaluation and returns {@link #COLLECTED} once the property is gone.
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object> makeReader(Property<?> property) {
+        if (!(property instanceof WeakenedProperty)) {
+            return (Function<Object>) property.getGetter();
+        }
+        final WeakenedProperty<?> weakened = (WeakenedProperty<?>) property;
+        return new Function<Object>() {
+            @Override
+            public Object evaluate() {
+                Function<?> getter = weakened.getGetter();
+                return getter == null ? COLLECTED : getter.evaluate();
+            }
+        };
+    }
+
+    /**
+     * @return the setter of the property, or for a weakened property an action that looks up the
+     * setter on each invocation and does nothing once the property is gone.
+     */
     @SuppressWarnings("unchecked")
+    private static Action<Object> makeWriter(Property<?> property) {
+        if (!(property instanceof WeakenedProperty)) {
+            return (Action<Object>) property.getSetter();
+        }
+        final WeakenedProperty<?> weakened = (WeakenedProperty<?>) property;
+        return new Action<Object>() {
+            @Override
+            public void invoke(Object parameter) {
+                Action<Object> setter = (Action<Object>) weakened.getSetter();
+                if (setter != null) {
+                    setter.invoke(parameter);
+                }
+            }
+        };
+    }
+
+    /**
+     * Retires the binding's subscriptions once the weakly held owner of one of its properties has
+     * been garbage collected, so that the Trackables it subscribed to release it even if they never
+     * change again. A single reference to the owner retires both directions.
+     */
+    private void disposeWhenCollected(WeakReference<?> weakOwner) {
+        if (weakOwner == null) {
+            return;
+        }
+        Object owner = weakOwner.get();
+        if (owner == null) {
+            this.dispose();
+            return;
+        }
+        if (this.sourceSubscription != null) {
+            this.sourceSubscription.cancelWhenCollected(owner, this.targetSubscription);
+        } else {
+            this.targetSubscription.cancelWhenCollected(owner);
+        }
+    }
+
+    private static Property<?> unweaken(Property<?> property) {
+        if (property instanceof WeakenedProperty) {
+            return ((WeakenedProperty<?>) property).getProperty();
+        }
+        return property;
+    }
+
     private void applySourceToTarget() {
+        if (this.sourceToTarget == null) {
+            return;
+        }
         try {
-            if (!(this.mode == BindingMode.TWO_WAY || this.mode == BindingMode.ONE_WAY)) {
-                return;
+            if (!this.sourceToTarget.apply(this.sourceSubscription)) {
+                this.dispose();
             }
-            if (this.sourceProperty.getGetter() == null || this.targetProperty.getSetter() == null) {
-                return;
-            }
-            Object sourceValue = Trackable.track(this.sourceTracker, this.sourceProperty.getGetter());
-            Object convertedValue = this.converter.convertToTarget(sourceValue,
-                    this.targetProperty.getType());
-            ((Property<Object>) this.targetProperty).setValue(convertedValue);
         } catch (Exception e) {
             if (this.isLoggingEnabled) {
                 System.err.println("Ignored exception in applySourceToTarget");
@@ -144,19 +698,14 @@ public class Binding {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void applyTargetToSource() {
+        if (this.targetToSource == null) {
+            return;
+        }
         try {
-            if (!(this.mode == BindingMode.TWO_WAY || this.mode == BindingMode.ONE_WAY_TO_SOURCE)) {
-                return;
+            if (!this.targetToSource.apply(this.targetSubscription)) {
+                this.dispose();
             }
-            if (this.targetProperty.getGetter() == null || this.sourceProperty.getSetter() == null) {
-                return;
-            }
-            Object targetValue = Trackable.track(this.targetTracker, this.targetProperty.getGetter());
-            Object convertedValue = this.converter.convertToSource(targetValue,
-                    this.sourceProperty.getType());
-            ((Property<Object>) this.sourceProperty).setValue(convertedValue);
         } catch (Exception e) {
             if (this.isLoggingEnabled) {
                 System.err.println("Ignored exception in applyTargetToSource");
@@ -176,6 +725,32 @@ public class Binding {
         return this.weakToMe;
     }
 
+    /**
+     * Disposes of the binding. Neither property will be updated by it again, and its trackers are
+     * released by every Trackable it was subscribed to, rather than lingering until the properties
+     * are garbage collected. Disposing of a binding more than once has no effect.
+     */
+    public void dispose() {
+        if (this.sourceSubscription != null) {
+            this.sourceSubscription.cancel();
+        }
+        if (this.targetSubscription != null) {
+            this.targetSubscription.cancel();
+        }
+        this.sourceToTarget = null;
+        this.targetToSource = null;
+    }
+
+    /**
+     * @return Whether {@link #dispose()} has been called, or the binding has been disposed of
+     * because the owner of one of its properties was garbage collected.
+     */
+    public boolean isDisposed() {
+        Subscription subscription = this.sourceSubscription != null ? this.sourceSubscription
+                : this.targetSubscription;
+        return subscription.isCancelled();
+    }
+
     private void initializeBinding() {
         this.applySourceToTarget();
         this.applyTargetToSource();
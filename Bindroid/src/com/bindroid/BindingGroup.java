@@ -0,0 +1,79 @@
+package com.bindroid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects {@link Binding}s that share a lifetime, such as those created for a screen, so that they
+ * can all be disposed of at once when it goes away:
+ *
+ * <pre>
+ * bindings.add(UiBinder.bind(this, R.id.name, "Text", model, "Name", BindingMode.ONE_WAY));
+ * ...
+ * protected void onDestroy() {
+ *     bindings.dispose();
+ * }
+ * </pre>
+ */
+public class BindingGroup {
+    private List<Binding> bindings = new ArrayList<Binding>();
+
+    /**
+     * Adds a binding to the group. If the group has already been disposed of, the binding is
+     * disposed of immediately.
+     *
+     * @param binding The binding to add.
+     * @return The binding, for convenience.
+     */
+    public Binding add(Binding binding) {
+        synchronized (this) {
+            if (this.bindings != null) {
+                this.bindings.add(binding);
+                return binding;
+            }
+        }
+        binding.dispose();
+        return binding;
+    }
+
+    /**
+     * Removes a binding from the group without disposing of it.
+     *
+     * @param binding The binding to remove.
+     * @return Whether the binding was in the group.
+     */
+    public synchronized boolean remove(Binding binding) {
+        return this.bindings != null && this.bindings.remove(binding);
+    }
+
+    /**
+     * @return The number of bindings in the group.
+     */
+    public synchronized int size() {
+        return this.bindings == null ? 0 : this.bindings.size();
+    }
+
+    /**
+     * @return Whether {@link #dispose()} has been called.
+     */
+    public synchronized boolean isDisposed() {
+        return this.bindings == null;
+    }
+
+    /**
+     * Disposes of every binding in the group, along with any added later.
+     */
+    public void dispose() {
+        List<Binding> bindings;
+        synchronized (this) {
+            bindings = this.bindings;
+            this.bindings = null;
+        }
+        if (bindings == null) {
+            return;
+        }
+        for (int x = 0; x < bindings.size(); x++) {
+            bindings.get(x).dispose();
+        }
+    }
+}
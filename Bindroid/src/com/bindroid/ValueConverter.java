@@ -42,4 +42,78 @@ public class ValueConverter {
     public Object convertToTarget(Object sourceValue, Class<?> targetType) {
         return sourceValue;
     }
+
+    /**
+     * Converts an int source value into an int target value when a {@link Binding} transfers ints
+     * without boxing them, between an {@link com.bindroid.utils.IntProperty} and another int
+     * property. Override this to convert without boxing; by default the value is boxed and passed
+     * to {@link #convertToTarget(Object, Class)}.
+     *
+     * @param sourceValue The value of the source property.
+     * @param targetType  The type of the target property, as passed to
+     *                    {@link #convertToTarget(Object, Class)}.
+     * @return The value to apply to the target.
+     */
+    public int convertIntToTarget(int sourceValue, Class<?> targetType) {
+        return (Integer) this.convertToTarget(sourceValue, targetType);
+    }
+
+    /**
+     * Converts an int target value into an int source value when a {@link Binding} transfers ints
+     * without boxing them, between an {@link com.bindroid.utils.IntProperty} and another int
+     * property. Override this to convert without boxing; by default the value is boxed and passed
+     * to {@link #convertToSource(Object, Class)}.
+     *
+     * @param targetValue The value of the target property.
+     * @param sourceType  The type of the source property, as passed to
+     *                    {@link #convertToSource(Object, Class)}.
+     * @return The value to apply to the source.
+     */
+    public int convertIntToSource(int targetValue, Class<?> sourceType) {
+        return (Integer) this.convertToSource(targetValue, sourceType);
+    }
+
+    /**
+     * The double equivalent of {@link #convertIntToTarget(int, Class)}.
+     *
+     * @param sourceValue The value of the source property.
+     * @param targetType  The type of the target property.
+     * @return The value to apply to the target.
+     */
+    public double convertDoubleToTarget(double sourceValue, Class<?> targetType) {
+        return (Double) this.convertToTarget(sourceValue, targetType);
+    }
+
+    /**
+     * The double equivalent of {@link #convertIntToSource(int, Class)}.
+     *
+     * @param targetValue The value of the target property.
+     * @param sourceType  The type of the source property.
+     * @return The value to apply to the source.
+     */
+    public double convertDoubleToSource(double targetValue, Class<?> sourceType) {
+        return (Double) this.convertToSource(targetValue, sourceType);
+    }
+
+    /**
+     * The boolean equivalent of {@link #convertIntToTarget(int, Class)}.
+     *
+     * @param sourceValue The value of the source property.
+     * @param targetType  The type of the target property.
+     * @return The value to apply to the target.
+     */
+    public boolean convertBooleanToTarget(boolean sourceValue, Class<?> targetType) {
+        return (Boolean) this.convertToTarget(sourceValue, targetType);
+    }
+
+    /**
+     * The boolean equivalent of {@link #convertIntToSource(int, Class)}.
+     *
+     * @param targetValue The value of the target property.
+     * @param sourceType  The type of the source property.
+     * @return The value to apply to the source.
+     */
+    public boolean convertBooleanToSource(boolean targetValue, Class<?> sourceType) {
+        return (Boolean) this.convertToSource(targetValue, sourceType);
+    }
 }
@@ -0,0 +1,53 @@
+package com.bindroid.trackable;
+
+/**
+ * Receives a description of each change made to a {@link TrackableCollection}, so that a consumer
+ * can bring its own copy of the collection up to date in proportion to the size of the change
+ * rather than the size of the collection.
+ * <p>
+ * Changes are reported on the thread that made them, immediately after they are made and before
+ * any {@link Tracker}s are notified. Indices are those of the collection as it was when the change
+ * was made, so applying each change in order to a copy of the collection keeps it in sync.
+ */
+public interface CollectionChangeListener {
+    /**
+     * Called when items have been inserted.
+     *
+     * @param index The index of the first inserted item.
+     * @param count The number of items inserted.
+     */
+    void onItemsInserted(int index, int count);
+
+    /**
+     * Called when items have been removed. Removing items that are not adjacent, as
+     * {@link TrackableCollection#removeAll(java.util.Collection)} may, is reported as one call for
+     * each run of adjacent items, from first to last.
+     *
+     * @param index The index of the first removed item.
+     * @param count The number of items removed.
+     */
+    void onItemsRemoved(int index, int count);
+
+    /**
+     * Called when an item has been moved.
+     *
+     * @param fromIndex The index the item was moved from.
+     * @param toIndex   The index the item was moved to, once it had been removed from fromIndex.
+     */
+    void onItemMoved(int fromIndex, int toIndex);
+
+    /**
+     * Called when items have been replaced by others.
+     *
+     * @param index The index of the first replaced item.
+     * @param count The number of items replaced.
+     */
+    void onItemsReplaced(int index, int count);
+
+    /**
+     * Called when the collection may have changed in ways that were not described, such as when its
+     * backing store is replaced or {@link TrackableCollection#updateTrackers()} is called directly.
+     * The whole collection should be read again.
+     */
+    void onReset();
+}
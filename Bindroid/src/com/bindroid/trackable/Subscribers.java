@@ -0,0 +1,81 @@
+package com.bindroid.trackable;
+
+/**
+ * A packed array of subscriptions, and the generation of each that was subscribed, used by a
+ * {@link Trackable} that has outgrown its inline subscriber slots. Entries whose generation has
+ * already been notified or replaced are compacted away before the array grows, keeping it bounded
+ * by the number of live subscriptions.
+ */
+final class Subscribers {
+    private Subscription[] subscriptions = new Subscription[4];
+    private int[] generations = new int[4];
+    private int count;
+
+    boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * @return Whether the given generation of a subscription was the last one added.
+     */
+    boolean isLast(Subscription subscription, int generation) {
+        return this.count > 0 && this.subscriptions[this.count - 1] == subscription
+                && this.generations[this.count - 1] == generation;
+    }
+
+    void add(Subscription subscription, int generation) {
+        if (this.count > 0 && this.subscriptions[this.count - 1] == subscription) {
+            this.generations[this.count - 1] = generation;
+            return;
+        }
+        if (this.count == this.subscriptions.length) {
+            this.compact();
+            if (this.count > this.subscriptions.length / 2) {
+                this.grow();
+            }
+        }
+        this.subscriptions[this.count] = subscription;
+        this.generations[this.count] = generation;
+        this.count++;
+    }
+
+    /**
+     * Claims every live subscription, enqueueing it on the given context, and empties the array
+     * while keeping its storage for reuse.
+     */
+    void drainTo(TrackingContext context) {
+        for (int x = 0; x < this.count; x++) {
+            Subscription subscription = this.subscriptions[x];
+            this.subscriptions[x] = null;
+            if (subscription.consume(this.generations[x])) {
+                context.enqueue(subscription);
+            }
+        }
+        this.count = 0;
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int x = 0; x < this.count; x++) {
+            Subscription subscription = this.subscriptions[x];
+            if (subscription.isLive(this.generations[x])) {
+                this.subscriptions[live] = subscription;
+                this.generations[live] = this.generations[x];
+                live++;
+            }
+        }
+        for (int x = live; x < this.count; x++) {
+            this.subscriptions[x] = null;
+        }
+        this.count = live;
+    }
+
+    private void grow() {
+        Subscription[] subscriptions = new Subscription[this.subscriptions.length * 2];
+        int[] generations = new int[subscriptions.length];
+        System.arraycopy(this.subscriptions, 0, subscriptions, 0, this.count);
+        System.arraycopy(this.generations, 0, generations, 0, this.count);
+        this.subscriptions = subscriptions;
+        this.generations = generations;
+    }
+}
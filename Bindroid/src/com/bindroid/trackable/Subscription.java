@@ -0,0 +1,233 @@
+package com.bindroid.trackable;
+
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Function;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A reusable handle that subscribes a {@link Tracker} to the {@link Trackable}s read during
+ * {@link Trackable#track(Subscription, Function)} or {@link Trackable#track(Subscription, Action)}.
+ * <p>
+ * Each call to track starts a new generation of the Subscription, and {@link Tracker#update()} is
+ * called at most once per generation no matter how many Trackables it subscribed to. Starting a new
+ * generation discards whatever the previous one subscribed to, so a Tracker that re-tracks each time
+ * it is updated can reuse a single Subscription without allocating anything per evaluation.
+ */
+public final class Subscription {
+    private static final AtomicIntegerFieldUpdater<Subscription> generationUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(Subscription.class, "generation");
+
+    /**
+     * Receives the references registered by {@link #cancelWhenCollected(Object)} once their owners
+     * have been garbage collected.
+     */
+    private static final ReferenceQueue<Object> collectedOwners = new ReferenceQueue<Object>();
+
+    /**
+     * Cancels a Subscription, and any companion registered with it, once the object it was
+     * registered for has been garbage collected. The Subscription holds its references in a list
+     * until it is cancelled, since a reference is only enqueued while it is itself reachable.
+     */
+    private static final class OwnerReference extends WeakReference<Object> {
+        final Subscription subscription;
+        final Subscription companion;
+        final OwnerReference next;
+
+        OwnerReference(Object owner, Subscription subscription, Subscription companion,
+                       OwnerReference next) {
+            super(owner, Subscription.collectedOwners);
+            this.subscription = subscription;
+            this.companion = companion;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Cancels every Subscription whose owner has been garbage collected since the last call. This is
+     * done as Subscriptions are registered and periodically as Trackables are tracked, so trackers
+     * whose owners are gone are released even by Trackables that never change again.
+     */
+    static void purgeCollected() {
+        Reference<?> reference;
+        while ((reference = Subscription.collectedOwners.poll()) != null) {
+            OwnerReference owner = (OwnerReference) reference;
+            owner.subscription.cancel();
+            if (owner.companion != null) {
+                owner.companion.cancel();
+            }
+        }
+    }
+
+    private volatile Tracker tracker;
+    private volatile boolean isCancelled;
+    private OwnerReference owners;
+    private final boolean invalidating;
+
+    /**
+     * One more than the height of the tallest Trackable subscribed to by the current generation.
+     */
+    private int height;
+
+    /**
+     * Even generations are live; a generation becomes odd once it has been notified or replaced.
+     */
+    private volatile int generation = 1;
+
+    /**
+     * Creates a Subscription for the given tracker.
+     *
+     * @param tracker The tracker to notify.
+     */
+    public Subscription(Tracker tracker) {
+        this(tracker, false);
+    }
+
+    /**
+     * @param tracker      The tracker to notify.
+     * @param invalidating Whether the tracker only marks a derived value as out of date, and should
+     *                     be notified as soon as a change reaches it rather than once the change has
+     *                     finished propagating.
+     */
+    Subscription(Tracker tracker, boolean invalidating) {
+        this.tracker = tracker;
+        this.invalidating = invalidating;
+    }
+
+    /**
+     * @return The tracker notified by this Subscription, or null once it has been cancelled.
+     */
+    public Tracker getTracker() {
+        return this.tracker;
+    }
+
+    /**
+     * Permanently retires this Subscription. Its tracker will not be notified again, even by a
+     * change that is already propagating, and later calls to track with it subscribe to nothing. The
+     * Trackables it was subscribed to treat it as a dead entry, reusing or compacting its slot, and
+     * it releases its tracker so that nothing the tracker references is kept alive by them.
+     */
+    public void cancel() {
+        this.isCancelled = true;
+        this.tracker = null;
+        synchronized (this) {
+            this.owners = null;
+        }
+        int current;
+        do {
+            current = this.generation;
+            // Always move to a new odd generation, so that a concurrent begin() cannot revive it.
+        } while (!generationUpdater.compareAndSet(this, current, (current | 1) + 2));
+    }
+
+    /**
+     * @return Whether {@link #cancel()} has been called.
+     */
+    public boolean isCancelled() {
+        return this.isCancelled;
+    }
+
+    /**
+     * Cancels this Subscription once the given object has been garbage collected. This lets an
+     * object that is only weakly held by a tracker, such as a View, retire its subscriptions without
+     * waiting for the Trackables they subscribed to to change again. The owner is not kept alive by
+     * the Subscription.
+     *
+     * @param owner The object whose collection cancels this Subscription.
+     */
+    public void cancelWhenCollected(Object owner) {
+        this.cancelWhenCollected(owner, null);
+    }
+
+    /**
+     * Cancels this Subscription and a companion once the given object has been garbage collected.
+     * Subscriptions that serve the same owner, such as the two directions of a two-way binding, can
+     * then share a single reference to it.
+     *
+     * @param owner     The object whose collection cancels the Subscriptions.
+     * @param companion Another Subscription to cancel along with this one, or null.
+     */
+    public void cancelWhenCollected(Object owner, Subscription companion) {
+        Subscription.purgeCollected();
+        synchronized (this) {
+            if (!this.isCancelled) {
+                this.owners = new OwnerReference(owner, this, companion, this.owners);
+            }
+        }
+    }
+
+    /**
+     * Starts a new generation, retiring any Trackables subscribed to by the previous one. Does
+     * nothing once the Subscription has been cancelled.
+     */
+    void begin() {
+        int current;
+        do {
+            current = this.generation;
+            if (this.isCancelled) {
+                return;
+            }
+        } while (!generationUpdater.compareAndSet(this, current, (current | 1) + 1));
+        this.height = 0;
+    }
+
+    /**
+     * Notifies the tracker, unless the Subscription has been cancelled.
+     */
+    void notifyTracker() {
+        Tracker tracker = this.tracker;
+        if (tracker != null) {
+            tracker.update();
+        }
+    }
+
+    boolean isInvalidating() {
+        return this.invalidating;
+    }
+
+    /**
+     * @return The height of this Subscription in the graph of derived values. Trackers with greater
+     *         heights are notified after those with lesser ones.
+     */
+    int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Records that the current generation subscribed to a Trackable of the given height.
+     */
+    void raiseHeight(int trackableHeight) {
+        if (trackableHeight >= this.height) {
+            this.height = trackableHeight + 1;
+        }
+    }
+
+    /**
+     * @return The current generation, which is odd if there is nothing left to subscribe.
+     */
+    int getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * @param generation A generation that was subscribed.
+     * @return Whether that generation can still be notified.
+     */
+    boolean isLive(int generation) {
+        return this.generation == generation && (generation & 1) == 0;
+    }
+
+    /**
+     * Claims the notification for the given generation.
+     *
+     * @param generation The generation that was subscribed.
+     * @return Whether the caller should notify the tracker.
+     */
+    boolean consume(int generation) {
+        return (generation & 1) == 0 && generationUpdater.compareAndSet(this, generation,
+                generation + 1);
+    }
+}
@@ -3,10 +3,6 @@ package com.bindroid.trackable;
 import com.bindroid.utils.Action;
 import com.bindroid.utils.Function;
 
-import java.util.LinkedList;
-import java.util.Stack;
-import java.util.concurrent.atomic.AtomicReference;
-
 /**
  * Provides an object to which {@link Tracker} can subscribe for notifications as well as methods
  * that allow a Tracker to evaluate an {@link Action} or {@link Function} while subscribing to
@@ -21,13 +17,6 @@ import java.util.concurrent.atomic.AtomicReference;
  * overhead when used in large numbers of objects.
  */
 public class Trackable {
-    private static ThreadLocal<Stack<Tracker>> trackersInFrame = new ThreadLocal<Stack<Tracker>>() {
-        @Override
-        protected synchronized Stack<Tracker> initialValue() {
-            return new Stack<Tracker>();
-        }
-    };
-
     /**
      * Causes a {@link Tracker} to track any Trackables on which {@link #track()} was called while
      * executing the given {@link Action}. {@link Tracker#update()} will be called at most once for
@@ -37,12 +26,7 @@ public class Trackable {
      * @param action  The action to run.
      */
     public static void track(Tracker tracker, Action<Void> action) {
-        Trackable.trackersInFrame.get().push(wrapTracker(tracker));
-        try {
-            action.invoke(null);
-        } finally {
-            Trackable.trackersInFrame.get().pop();
-        }
+        Trackable.track(new Subscription(tracker), action);
     }
 
     /**
@@ -56,42 +40,128 @@ public class Trackable {
      * @return The result of the function.
      */
     public static <T> T track(Tracker tracker, Function<T> function) {
-        Trackable.trackersInFrame.get().push(wrapTracker(tracker));
+        return Trackable.track(new Subscription(tracker), function);
+    }
+
+    /**
+     * Starts a new generation of a {@link Subscription} and subscribes it to any Trackables on which
+     * {@link #track()} was called while executing the given {@link Action}. Trackables subscribed to
+     * by the previous generation will no longer notify it.
+     *
+     * @param subscription The subscription to renew.
+     * @param action       The action to run.
+     */
+    public static void track(Subscription subscription, Action<Void> action) {
+        subscription.begin();
+        TrackingContext context = TrackingContext.current();
+        context.pushFrame(subscription);
+        try {
+            action.invoke(null);
+        } finally {
+            context.popFrame();
+        }
+    }
+
+    /**
+     * Starts a new generation of a {@link Subscription} and subscribes it to any Trackables on which
+     * {@link #track()} was called while evaluating the given {@link Function}. Trackables subscribed
+     * to by the previous generation will no longer notify it. The result of the function is
+     * returned.
+     *
+     * @param subscription The subscription to renew.
+     * @param function     The function to evaluate.
+     * @return The result of the function.
+     */
+    public static <T> T track(Subscription subscription, Function<T> function) {
+        subscription.begin();
+        TrackingContext context = TrackingContext.current();
+        context.pushFrame(subscription);
         try {
             return function.evaluate();
         } finally {
-            Trackable.trackersInFrame.get().pop();
+            context.popFrame();
         }
     }
 
     /**
-     * Wraps the tracker to ensure that references to it are released after the first change
-     * notification is raised.
+     * Executes the given {@link Action}, deferring notifications from any Trackables updated on this
+     * thread until it completes. Each {@link Tracker} subscribed to those Trackables is then notified
+     * once, no matter how many of them changed. Batches may be nested, in which case notifications
+     * are deferred until the outermost batch completes.
+     *
+     * @param action The action to run.
      */
-    private static Tracker wrapTracker(Tracker tracker) {
-        final AtomicReference<Tracker> sourceTracker = new AtomicReference<Tracker>(tracker);
-        return new Tracker() {
-            @Override
-            public void update() {
-                Tracker source = sourceTracker.getAndSet(null);
-                if (source != null) {
-                    source.update();
-                }
-            }
-        };
+    public static void batch(Action<Void> action) {
+        TrackingContext context = TrackingContext.current();
+        context.beginWave();
+        try {
+            action.invoke(null);
+        } finally {
+            context.endWave();
+        }
     }
 
-    private LinkedList<Tracker> trackers;
+    /**
+     * Subscribers are stored inline for the common case of one or two subscriptions and spill over
+     * into a packed array only when a Trackable is shared more widely. Each subscription is stored
+     * with the generation that subscribed, so entries left behind by a notified or renewed
+     * subscription are simply ignored.
+     */
+    private Subscription firstSubscription;
+    private int firstGeneration;
+    private Subscription secondSubscription;
+    private int secondGeneration;
+    private Subscribers moreSubscribers;
 
     /**
      * Constructs a new Trackable.
      */
     public Trackable() {
-        this.trackers = new LinkedList<Tracker>();
     }
 
-    private LinkedList<Tracker> getTrackers() {
-        return this.trackers;
+    private boolean isLastSubscriber(Subscription subscription, int generation) {
+        if (this.moreSubscribers != null && !this.moreSubscribers.isEmpty()) {
+            return this.moreSubscribers.isLast(subscription, generation);
+        }
+        if (this.secondSubscription != null) {
+            return this.secondSubscription == subscription && this.secondGeneration == generation;
+        }
+        return this.firstSubscription == subscription && this.firstGeneration == generation;
+    }
+
+    /**
+     * @return The height of this Trackable in the graph of derived values: zero for Trackables that
+     *         store their own state, and one more than the tallest of their dependencies for those
+     *         that are derived from others.
+     */
+    int getHeight() {
+        return 0;
+    }
+
+    private void addSubscriber(Subscription subscription, int generation) {
+        if (subscription == this.firstSubscription) {
+            this.firstGeneration = generation;
+            return;
+        }
+        if (subscription == this.secondSubscription) {
+            this.secondGeneration = generation;
+            return;
+        }
+        if (this.firstSubscription == null || !this.firstSubscription.isLive(this.firstGeneration)) {
+            this.firstSubscription = subscription;
+            this.firstGeneration = generation;
+            return;
+        }
+        if (this.secondSubscription == null
+                || !this.secondSubscription.isLive(this.secondGeneration)) {
+            this.secondSubscription = subscription;
+            this.secondGeneration = generation;
+            return;
+        }
+        if (this.moreSubscribers == null) {
+            this.moreSubscribers = new Subscribers();
+        }
+        this.moreSubscribers.add(subscription, generation);
     }
 
     /**
@@ -99,19 +169,73 @@ public class Trackable {
      * evaluation. These trackers will be notified the next time {@link #updateTrackers()} is called.
      */
     public void track() {
-        if (Trackable.trackersInFrame.get().size() > 0) {
-            this.getTrackers().addAll(Trackable.trackersInFrame.get());
+        if (!TrackingContext.isAnyThreadTracking()) {
+            return;
+        }
+        TrackingContext context = TrackingContext.current();
+        int frameCount = context.getFrameCount();
+        if (frameCount == 0) {
+            return;
+        }
+        // The innermost frame is always subscribed last, after every frame beneath it. If it is still
+        // the most recent subscriber, this is a repeated read within the same frame and there is
+        // nothing to add.
+        Subscription innermost = context.getFrame(frameCount - 1);
+        if (this.isLastSubscriber(innermost, innermost.getGeneration())) {
+            return;
+        }
+        int height = this.getHeight();
+        for (int x = 0; x < frameCount; x++) {
+            Subscription subscription = context.getFrame(x);
+            int generation = subscription.getGeneration();
+            if ((generation & 1) == 0) {
+                this.addSubscriber(subscription, generation);
+                subscription.raiseHeight(height);
+            }
         }
     }
 
     /**
-     * Notifies any {@link Tracker}s watching this Trackable.
+     * Notifies any {@link Tracker}s watching this Trackable. Derived values are marked out of date
+     * immediately, but other trackers are notified once the change has propagated through them, so
+     * that each is notified at most once and observes only consistent values. Within a
+     * {@link #batch(Action)}, those notifications are deferred until the batch completes.
      */
     public void updateTrackers() {
-        LinkedList<Tracker> trackers = this.getTrackers();
-        this.trackers = new LinkedList<Tracker>();
-        for (Tracker t : trackers) {
-            t.update();
+        Subscription first = this.firstSubscription;
+        int firstGeneration = this.firstGeneration;
+        Subscription second = this.secondSubscription;
+        int secondGeneration = this.secondGeneration;
+        boolean hasMore = this.moreSubscribers != null && !this.moreSubscribers.isEmpty();
+        if (first == null && second == null && !hasMore) {
+            return;
+        }
+        this.firstSubscription = null;
+        this.secondSubscription = null;
+        if (second == null && !hasMore && !first.isInvalidating()) {
+            if (first.consume(firstGeneration)) {
+                TrackingContext.current().deliver(first);
+            }
+            return;
+        }
+        // Claim every subscription and hand it to the thread's context before notifying any of them.
+        // The overflow array is kept for reuse by trackers that re-subscribe.
+        TrackingContext context = TrackingContext.current();
+        context.beginWave();
+        try {
+            int mark = context.beginNotification();
+            if (first != null && first.consume(firstGeneration)) {
+                context.enqueue(first);
+            }
+            if (second != null && second.consume(secondGeneration)) {
+                context.enqueue(second);
+            }
+            if (hasMore) {
+                this.moreSubscribers.drainTo(context);
+            }
+            context.notifyPending(mark);
+        } finally {
+            context.endWave();
         }
     }
 }
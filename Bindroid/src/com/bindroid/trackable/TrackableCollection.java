@@ -1,27 +1,115 @@
 package com.bindroid.trackable;
 
+import com.bindroid.utils.Predicate;
+
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
-import java.util.Stack;
+import java.util.RandomAccess;
+import java.util.Set;
 
 /**
  * A {@link List} implementation that implements Trackable on all of its methods, notifying
  * {@link Tracker}s whenever a change to the list occurs.
+ * <p>
+ * Consumers that keep their own copy of the list, such as adapters, can also register a
+ * {@link CollectionChangeListener} to be told which items each change inserted, removed, moved or
+ * replaced. Readers that need a consistent view of the list while it continues to change, such as
+ * adapters presenting it on another thread, can take a {@link #snapshot()} of it.
  *
  * @param <T> The type of object in the List.
  */
 public class TrackableCollection<T> extends Trackable implements List<T> {
+    /**
+     * An immutable view of the items of a TrackableCollection, and their identifiers, as they were
+     * when {@link TrackableCollection#snapshot()} was called. Reading a Snapshot does not track the
+     * collection, and it may be read on any thread.
+     *
+     * @param <T> The type of object in the List.
+     */
+    public static final class Snapshot<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> items;
+        private final long[] ids;
+
+        private Snapshot(List<T> items, long[] ids) {
+            this.items = items;
+            this.ids = ids;
+        }
+
+        @Override
+        public T get(int location) {
+            return this.items.get(location);
+        }
+
+        @Override
+        public int size() {
+            return this.items.size();
+        }
+
+        /**
+         * @param index The index for which an identifier should be retrieved.
+         * @return The identifier the collection had for the object at the given index.
+         */
+        public long getId(int index) {
+            if (index < 0 || index >= this.items.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+                        + this.items.size());
+            }
+            return this.ids[index];
+        }
+    }
+
     private List<T> backingStore;
-    private List<Long> ids;
+    private static final long[] NO_IDS = new long[0];
+
+    /**
+     * The identifier of each item, in the same order as the backing store. Only the first idCount
+     * entries are in use.
+     */
+    private long[] ids;
+    private int idCount;
     private long curId;
-    private Stack<Long> returnedIds;
+
+    /**
+     * Identifiers of removed items, which are handed out again before new ones. Only the first
+     * returnedIdCount entries are in use.
+     */
+    private long[] returnedIds;
+    private int returnedIdCount;
     private boolean shouldTrack = true;
 
+    /**
+     * Whether the backing store and identifiers are shared with a snapshot or a clone, in which case
+     * they are copied before they are next changed.
+     */
+    private boolean isShared;
+
+    /**
+     * Whether a view returned by {@link #subList(int, int)} may write to the backing store, in which
+     * case it is never shared, since the view would change the snapshot or clone sharing it. Cleared
+     * when the backing store is replaced, which leaves any views writing to the old one.
+     */
+    private boolean hasSubListViews;
+
+    /**
+     * Counts changes to the collection, so that iterators can detect changes made other than through
+     * themselves.
+     */
+    private int modCount;
+
+    /**
+     * Replaced as a whole whenever a listener is added or removed, so that changes made on one
+     * thread can be reported while listeners are registered on another. Null while there are none.
+     */
+    private volatile CollectionChangeListener[] changeListeners;
+
     /**
      * Constructs a new, empty, {@link ArrayList}-backed ObservableCollection.
      */
@@ -40,21 +128,33 @@ public class TrackableCollection<T> extends Trackable implements List<T> {
 
     /**
      * A utility function for cloning an ObservableCollection. Object identifiers will remain the same
-     * in the cloned collection.
+     * in the cloned collection. If the collection is backed by an {@link ArrayList}, the clone shares
+     * its storage until either of them is changed.
      *
      * @param toClone The ObservableCollection to clone.
      */
     public TrackableCollection(TrackableCollection<T> toClone) {
-        this.backingStore = new ArrayList<T>(toClone.backingStore);
-        this.ids = new ArrayList<Long>(toClone.ids);
-        this.returnedIds = new Stack<Long>();
+        if (toClone.isShareable()) {
+            this.backingStore = toClone.backingStore;
+            this.ids = toClone.ids;
+            this.isShared = true;
+            toClone.isShared = true;
+        } else {
+            this.backingStore = new ArrayList<T>(toClone.backingStore);
+            this.ids = Arrays.copyOf(toClone.ids, toClone.idCount);
+        }
+        this.idCount = toClone.idCount;
+        this.returnedIds = NO_IDS;
         this.curId = toClone.curId;
         this.shouldTrack = toClone.shouldTrack;
     }
 
     /**
      * Allows disabling of tracking so that multiple operations can proceed atomically without
-     * notifying trackers.
+     * notifying trackers. Trackers are not notified of changes made while tracking is disabled, so
+     * callers must call {@link #updateTrackers()} once it is re-enabled.
+     * {@link Trackable#batch(com.bindroid.utils.Action)} is usually preferable, since it defers
+     * notifications instead and works across Trackables.
      *
      * @param shouldTrack Whether to track
      */
@@ -66,6 +166,53 @@ public class TrackableCollection<T> extends Trackable implements List<T> {
         return shouldTrack;
     }
 
+    /**
+     * Adds a listener that is told about each change made to the collection. Changes are reported
+     * whether or not tracking is enabled.
+     *
+     * @param listener The listener to add.
+     */
+    public void addChangeListener(CollectionChangeListener listener) {
+        synchronized (this) {
+            CollectionChangeListener[] current = this.changeListeners;
+            int length = current == null ? 0 : current.length;
+            CollectionChangeListener[] updated = new CollectionChangeListener[length + 1];
+            if (current != null) {
+                System.arraycopy(current, 0, updated, 0, length);
+            }
+            updated[length] = listener;
+            this.changeListeners = updated;
+        }
+    }
+
+    /**
+     * Removes a listener added with {@link #addChangeListener(CollectionChangeListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeChangeListener(CollectionChangeListener listener) {
+        synchronized (this) {
+            CollectionChangeListener[] current = this.changeListeners;
+            if (current == null) {
+                return;
+            }
+            for (int x = 0; x < current.length; x++) {
+                if (current[x] == listener) {
+                    if (current.length == 1) {
+                        this.changeListeners = null;
+                        return;
+                    }
+                    CollectionChangeListener[] updated =
+                            new CollectionChangeListener[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, x);
+                    System.arraycopy(current, x + 1, updated, x, current.length - x - 1);
+                    this.changeListeners = updated;
+                    return;
+                }
+            }
+        }
+    }
+
     /**
      * Replaces the backing store, allowing the array to be replaced atomically without updating
      * trackers in between changes.
@@ -74,71 +221,161 @@ public class TrackableCollection<T> extends Trackable implements List<T> {
      */
     public void replaceBackingStore(List<T> backingStore) {
         this.backingStore = backingStore;
-        this.ids = new ArrayList<Long>();
-        this.returnedIds = new Stack<Long>();
-        for (int x = 0; x < backingStore.size(); x++) {
-            this.ids.add(this.getNewId());
-        }
+        this.isShared = false;
+        this.hasSubListViews = false;
+        this.modCount++;
+        this.ids = NO_IDS;
+        this.idCount = 0;
+        this.returnedIds = NO_IDS;
+        this.returnedIdCount = 0;
+        this.insertNewIds(0, backingStore.size());
         this.updateTrackers();
     }
 
+    /**
+     * Notifies trackers, and tells any {@link CollectionChangeListener}s to read the whole collection
+     * again, since changes that prompt a direct call cannot be described.
+     */
     @Override
     public void updateTrackers() {
+        CollectionChangeListener[] listeners = this.changeListeners;
+        if (listeners != null) {
+            for (CollectionChangeListener listener : listeners) {
+                listener.onReset();
+            }
+        }
+        this.notifyTrackers();
+    }
+
+    private void notifyTrackers() {
         if (shouldTrack) {
             super.updateTrackers();
         }
     }
 
+    private void notifyInserted(int index, int count) {
+        CollectionChangeListener[] listeners = this.changeListeners;
+        if (listeners != null && count > 0) {
+            for (CollectionChangeListener listener : listeners) {
+                listener.onItemsInserted(index, count);
+            }
+        }
+        this.notifyTrackers();
+    }
+
+    private void notifyRemoved(int index, int count) {
+        CollectionChangeListener[] listeners = this.changeListeners;
+        if (listeners != null && count > 0) {
+            for (CollectionChangeListener listener : listeners) {
+                listener.onItemsRemoved(index, count);
+            }
+        }
+        this.notifyTrackers();
+    }
+
+    /**
+     * Takes an immutable snapshot of the collection, using plain copy-on-write. If the collection is
+     * backed by an {@link ArrayList}, the snapshot shares the collection's storage, so taking it does
+     * not copy anything, but the next change to the collection copies the whole list before it is
+     * made. Other backing stores, and ones that a {@link #subList(int, int)} view may still write
+     * to, are copied immediately. Either way, a snapshot followed by a change costs one copy of the
+     * list; what sharing saves is the copy when nothing changes in between, and the copies for
+     * further snapshots taken before the next change.
+     * <p>
+     * Like other changes, snapshots should be taken on the thread that changes the collection. The
+     * snapshot does not reflect changes made directly to the backing store.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot<T> snapshot() {
+        if (!this.isShareable()) {
+            return new Snapshot<T>(new ArrayList<T>(this.backingStore),
+                    Arrays.copyOf(this.ids, this.idCount));
+        }
+        this.isShared = true;
+        return new Snapshot<T>(this.backingStore, this.ids);
+    }
+
+    private boolean isShareable() {
+        return !this.hasSubListViews && this.backingStore.getClass() == ArrayList.class;
+    }
+
+    /**
+     * Records a change, copying the backing store and identifiers first if they are shared.
+     */
+    private void prepareToChange() {
+        this.modCount++;
+        this.unshare();
+    }
+
+    private void unshare() {
+        if (this.isShared) {
+            this.backingStore = new ArrayList<T>(this.backingStore);
+            this.ids = Arrays.copyOf(this.ids, this.idCount);
+            this.isShared = false;
+            this.hasSubListViews = false;
+        }
+    }
+
     @Override
     public void add(int location, T object) {
+        this.prepareToChange();
         this.backingStore.add(location, object);
-        this.ids.add(location, this.getNewId());
-        this.updateTrackers();
+        this.insertNewIds(location, 1);
+        this.notifyInserted(location, 1);
     }
 
     @Override
     public boolean add(T object) {
+        this.prepareToChange();
         boolean result = this.backingStore.add(object);
-        this.ids.add(this.getNewId());
+        this.insertNewIds(this.idCount, 1);
         if (result) {
-            this.updateTrackers();
+            this.notifyInserted(this.idCount - 1, 1);
         }
         return result;
     }
 
     @Override
     public boolean addAll(Collection<? extends T> arg0) {
+        this.prepareToChange();
+        int index = this.idCount;
         boolean result = this.backingStore.addAll(arg0);
-        for (@SuppressWarnings("unused")
-                Object item : arg0) {
-            this.ids.add(this.getNewId());
-        }
+        this.insertNewIds(index, this.backingStore.size() - index);
         if (result) {
-            this.updateTrackers();
+            this.notifyInserted(index, this.idCount - index);
         }
         return result;
     }
 
     @Override
     public boolean addAll(int arg0, Collection<? extends T> arg1) {
+        this.prepareToChange();
+        int count = this.backingStore.size();
         boolean result = this.backingStore.addAll(arg0, arg1);
-        for (@SuppressWarnings("unused")
-                Object item : arg1) {
-            this.ids.add(this.getNewId());
-        }
+        count = this.backingStore.size() - count;
+        this.insertNewIds(arg0, count);
         if (result) {
-            this.updateTrackers();
+            this.notifyInserted(arg0, count);
         }
         return result;
     }
 
     @Override
     public void clear() {
-        this.backingStore.clear();
-        this.ids.clear();
-        this.returnedIds.clear();
+        int count = this.idCount;
+        this.modCount++;
+        if (this.isShared) {
+            this.backingStore = new ArrayList<T>();
+            this.ids = NO_IDS;
+            this.isShared = false;
+        } else {
+            this.backingStore.clear();
+        }
+        this.idCount = 0;
+        this.returnedIdCount = 0;
         this.curId = 0;
-        this.updateTrackers();
+        this.notifyRemoved(0, count);
     }
 
     @Override
@@ -159,6 +396,19 @@ public class TrackableCollection<T> extends Trackable implements List<T> {
         return this.backingStore.get(location);
     }
 
+    /**
+     * Gets the item at the given index without tracking the collection. This is meant for
+     * {@link CollectionChangeListener}s reading the items a change inserted or replaced: they are
+     * called while the change is being made, and should not subscribe whatever is being tracked at
+     * the time.
+     *
+     * @param location The index of the item.
+     * @return The item at the given index.
+     */
+    public T getUntracked(int location) {
+        return this.backingStore.get(location);
+    }
+
     /**
      * Gets a list-unique identifier associated with the object at the given index. This is useful for
      * UI to ensure that UI can be reused when the collection changes.
@@ -167,14 +417,64 @@ public class TrackableCollection<T> extends Trackable implements List<T> {
      * @return The list-unique identifier for the object at the given index.
      */
     public long getId(int index) {
-        return this.ids.get(index);
+        if (index < 0 || index >= this.idCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.idCount);
+        }
+        return this.ids[index];
     }
 
     private long getNewId() {
-        if (this.returnedIds.isEmpty()) {
+        if (this.returnedIdCount == 0) {
             return this.curId++;
         }
-        return this.returnedIds.pop();
+        return this.returnedIds[--this.returnedIdCount];
+    }
+
+    /**
+     * Makes room for, and assigns, the identifiers of items inserted into the backing store.
+     */
+    private void insertNewIds(int index, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (this.idCount + count > this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, Math.max(this.idCount + count,
+                    this.ids.length + (this.ids.length >> 1)));
+        }
+        System.arraycopy(this.ids, index, this.ids, index + count, this.idCount - index);
+        for (int x = index; x < index + count; x++) {
+            this.ids[x] = this.getNewId();
+        }
+        this.idCount += count;
+    }
+
+    /**
+     * Removes the identifier of an item removed from the backing store.
+     *
+     * @return The removed identifier.
+     */
+    private long removeId(int index) {
+        long id = this.ids[index];
+        System.arraycopy(this.ids, index + 1, this.ids, index, this.idCount - index - 1);
+        this.idCount--;
+        return id;
+    }
+
+    /**
+     * Removes the identifiers of removed items, returning them for reuse.
+     *
+     * @param removed Whether each item of the list, as it was before the removal, was removed.
+     */
+    private void removeIds(boolean[] removed) {
+        int kept = 0;
+        for (int x = 0; x < this.idCount; x++) {
+            if (removed[x]) {
+                this.returnId(this.ids[x]);
+            } else {
+                this.ids[kept++] = this.ids[x];
+            }
+        }
+        this.idCount = kept;
     }
 
     @Override
@@ -205,70 +505,146 @@ public class TrackableCollection<T> extends Trackable implements List<T> {
         return listIterator(0);
     }
 
+    /**
+     * Tracks the collection once, when the iterator is created, and then reads the backing store
+     * directly. Like those of {@link ArrayList}, the iterator is fail-fast: it throws a
+     * {@link ConcurrentModificationException} if the collection is changed other than through the
+     * iterator itself.
+     */
     @Override
     public ListIterator<T> listIterator(int location) {
         this.track();
-        return new ListIterator<T>() {
-            private int curIndex = location - 1;
+        if (location < 0 || location > this.backingStore.size()) {
+            throw new IndexOutOfBoundsException("Index: " + location + ", Size: "
+                    + this.backingStore.size());
+        }
+        return new CollectionIterator(location);
+    }
 
-            @Override
-            public boolean hasNext() {
-                return curIndex < size() - 1;
-            }
+    private final class CollectionIterator implements ListIterator<T> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = TrackableCollection.this.modCount;
 
-            @Override
-            public T next() {
-                if (curIndex >= size() - 1) {
-                    throw new NoSuchElementException();
-                }
-                return get(++curIndex);
-            }
+        CollectionIterator(int cursor) {
+            this.cursor = cursor;
+        }
 
-            @Override
-            public boolean hasPrevious() {
-                return curIndex > 0;
+        private void checkForModification() {
+            if (TrackableCollection.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
             }
+        }
 
-            @Override
-            public T previous() {
-                if (curIndex <= 0) {
-                    throw new NoSuchElementException();
-                }
-                return get(--curIndex);
-            }
+        @Override
+        public boolean hasNext() {
+            return this.cursor < TrackableCollection.this.backingStore.size();
+        }
 
-            @Override
-            public int nextIndex() {
-                return curIndex + 1;
+        @Override
+        public T next() {
+            this.checkForModification();
+            if (this.cursor >= TrackableCollection.this.backingStore.size()) {
+                throw new NoSuchElementException();
             }
+            this.lastReturned = this.cursor++;
+            return TrackableCollection.this.backingStore.get(this.lastReturned);
+        }
 
-            @Override
-            public int previousIndex() {
-                return Math.max(curIndex - 1, -1);
+        @Override
+        public boolean hasPrevious() {
+            return this.cursor > 0;
+        }
+
+        @Override
+        public T previous() {
+            this.checkForModification();
+            if (this.cursor <= 0) {
+                throw new NoSuchElementException();
             }
+            this.lastReturned = --this.cursor;
+            return TrackableCollection.this.backingStore.get(this.lastReturned);
+        }
 
-            @Override
-            public void remove() {
-                TrackableCollection.this.remove(curIndex);
+        @Override
+        public int nextIndex() {
+            return this.cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return this.cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (this.lastReturned < 0) {
+                throw new IllegalStateException();
             }
+            this.checkForModification();
+            TrackableCollection.this.remove(this.lastReturned);
+            this.cursor = this.lastReturned;
+            this.lastReturned = -1;
+            this.expectedModCount = TrackableCollection.this.modCount;
+        }
 
-            @Override
-            public void set(T t) {
-                TrackableCollection.this.set(curIndex, t);
+        @Override
+        public void set(T t) {
+            if (this.lastReturned < 0) {
+                throw new IllegalStateException();
             }
+            this.checkForModification();
+            TrackableCollection.this.set(this.lastReturned, t);
+            this.expectedModCount = TrackableCollection.this.modCount;
+        }
 
-            @Override
-            public void add(T t) {
-                TrackableCollection.this.add(++curIndex, t);
+        @Override
+        public void add(T t) {
+            this.checkForModification();
+            TrackableCollection.this.add(this.cursor++, t);
+            this.lastReturned = -1;
+            this.expectedModCount = TrackableCollection.this.modCount;
+        }
+    }
+
+    /**
+     * Moves an item to another position in the list, keeping its identifier.
+     *
+     * @param fromIndex The index of the item to move.
+     * @param toIndex   The index to move the item to, once it has been removed from fromIndex.
+     */
+    public void move(int fromIndex, int toIndex) {
+        // Both indices are checked before anything changes, so that a bad one cannot leave the items
+        // and their identifiers out of step.
+        int size = this.backingStore.size();
+        if (fromIndex < 0 || fromIndex >= size) {
+            throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + size);
+        }
+        if (toIndex < 0 || toIndex >= size) {
+            throw new IndexOutOfBoundsException("Index: " + toIndex + ", Size: " + size);
+        }
+        this.prepareToChange();
+        T item = this.backingStore.remove(fromIndex);
+        this.backingStore.add(toIndex, item);
+        long id = this.removeId(fromIndex);
+        System.arraycopy(this.ids, toIndex, this.ids, toIndex + 1, this.idCount - toIndex);
+        this.ids[toIndex] = id;
+        this.idCount++;
+        CollectionChangeListener[] listeners = this.changeListeners;
+        if (listeners != null) {
+            for (CollectionChangeListener listener : listeners) {
+                listener.onItemMoved(fromIndex, toIndex);
             }
-        };
+        }
+        this.notifyTrackers();
     }
 
     @Override
     public T remove(int location) {
+        this.prepareToChange();
         T result = this.backingStore.remove(location);
-        this.returnId(this.ids.remove(location));
-        this.updateTrackers();
+        this.returnId(this.removeId(location));
+        this.notifyRemoved(location, 1);
         return result;
     }
 
@@ -284,50 +660,132 @@ public class TrackableCollection<T> extends Trackable implements List<T> {
 
     @Override
     public boolean removeAll(Collection<?> arg0) {
-        HashSet<?> items = new HashSet<Object>(arg0);
-        ArrayList<Long> toRemove = new ArrayList<Long>();
-        for (int x = 0; x < this.backingStore.size(); x++) {
-            if (items.contains(this.backingStore.get(x))) {
-                toRemove.add(this.ids.get(x));
-                this.returnId(this.ids.get(x));
+        final Collection<?> items = arg0 instanceof Set ? arg0 : new HashSet<Object>(arg0);
+        return this.removeWhere(new Predicate<T>() {
+            @Override
+            public boolean evaluate(T value) {
+                return items.contains(value);
             }
-        }
-        boolean result = this.backingStore.removeAll(arg0);
-        this.ids.removeAll(toRemove);
-        if (result) {
-            this.updateTrackers();
-        }
-        return result;
+        });
     }
 
     @Override
     public boolean retainAll(Collection<?> arg0) {
-        HashSet<?> items = new HashSet<Object>(arg0);
-        ArrayList<Long> toRemove = new ArrayList<Long>();
-        for (int x = 0; x < this.backingStore.size(); x++) {
-            if (!items.contains(this.backingStore.get(x))) {
-                toRemove.add(this.ids.get(x));
-                this.returnId(this.ids.get(x));
+        final Collection<?> items = arg0 instanceof Set ? arg0 : new HashSet<Object>(arg0);
+        return this.removeWhere(new Predicate<T>() {
+            @Override
+            public boolean evaluate(T value) {
+                return !items.contains(value);
+            }
+        });
+    }
+
+    /**
+     * Removes every item that satisfies the given predicate. The predicate is evaluated for every
+     * item before any are removed, and the list is then compacted in a single pass, so removing many
+     * items costs no more than removing one.
+     * <p>
+     * Trackers are notified once. {@link CollectionChangeListener}s are told about each run of
+     * adjacent removed items, since a single range cannot describe items removed from several
+     * places.
+     * <p>
+     * This is not named removeIf so that it cannot be confused with
+     * {@link Collection}'s removeIf(java.util.function.Predicate) where that is available.
+     *
+     * @param predicate The condition under which an item is removed.
+     * @return Whether any items were removed.
+     */
+    public boolean removeWhere(Predicate<? super T> predicate) {
+        int size = this.backingStore.size();
+        boolean[] removed = new boolean[size];
+        boolean result = false;
+        int x = 0;
+        for (T item : this.backingStore) {
+            if (predicate.evaluate(item)) {
+                removed[x] = true;
+                result = true;
             }
+            x++;
         }
-        boolean result = this.backingStore.retainAll(arg0);
-        this.ids.removeAll(toRemove);
-        if (result) {
-            this.updateTrackers();
+        if (!result) {
+            return false;
         }
-        return result;
+        this.prepareToChange();
+        if (this.backingStore instanceof RandomAccess) {
+            int kept = 0;
+            for (x = 0; x < size; x++) {
+                if (!removed[x]) {
+                    if (kept != x) {
+                        this.backingStore.set(kept, this.backingStore.get(x));
+                    }
+                    kept++;
+                }
+            }
+            this.backingStore.subList(kept, size).clear();
+        } else {
+            Iterator<T> iterator = this.backingStore.iterator();
+            for (x = 0; x < size; x++) {
+                iterator.next();
+                if (removed[x]) {
+                    iterator.remove();
+                }
+            }
+        }
+        this.removeIds(removed);
+        this.notifyRemovedRuns(removed);
+        return true;
+    }
+
+    /**
+     * Reports each run of consecutive removed items to the listeners, from first to last, then
+     * notifies trackers once. Each run's index accounts for the runs reported before it.
+     *
+     * @param removed Whether each item of the list, as it was before the removal, was removed.
+     */
+    private void notifyRemovedRuns(boolean[] removed) {
+        CollectionChangeListener[] listeners = this.changeListeners;
+        if (listeners != null) {
+            int removedSoFar = 0;
+            int x = 0;
+            while (x < removed.length) {
+                if (!removed[x]) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < removed.length && removed[x]) {
+                    x++;
+                }
+                for (CollectionChangeListener listener : listeners) {
+                    listener.onItemsRemoved(start - removedSoFar, x - start);
+                }
+                removedSoFar += x - start;
+            }
+        }
+        this.notifyTrackers();
     }
 
     private void returnId(long id) {
-        this.returnedIds.push(id);
+        if (this.returnedIdCount == this.returnedIds.length) {
+            this.returnedIds = Arrays.copyOf(this.returnedIds,
+                    Math.max(4, this.returnedIds.length + (this.returnedIds.length >> 1)));
+        }
+        this.returnedIds[this.returnedIdCount++] = id;
     }
 
     @Override
     public T set(int location, T object) {
-        returnId(ids.get(location));
-        ids.set(location, getNewId());
+        this.prepareToChange();
         T result = this.backingStore.set(location, object);
-        this.updateTrackers();
+        this.returnId(this.ids[location]);
+        this.ids[location] = this.getNewId();
+        CollectionChangeListener[] listeners = this.changeListeners;
+        if (listeners != null) {
+            for (CollectionChangeListener listener : listeners) {
+                listener.onItemsReplaced(location, 1);
+            }
+        }
+        this.notifyTrackers();
         return result;
     }
 
@@ -340,6 +798,10 @@ public class TrackableCollection<T> extends Trackable implements List<T> {
     @Override
     public List<T> subList(int start, int end) {
         this.track();
+        // Changes made through the view must not reach a snapshot, whether it was taken before the
+        // view or after.
+        this.unshare();
+        this.hasSubListViews = true;
         return new TrackableCollection<T>(this.backingStore.subList(start, end));
     }
 
@@ -0,0 +1,89 @@
+package com.bindroid.trackable;
+
+import com.bindroid.utils.Function;
+
+/**
+ * Implements a {@link Trackable} whose value is derived from other Trackables. A TrackableComputed
+ * evaluates its {@link Function} the first time {@link #get()} is called and caches the result,
+ * tracking every Trackable read during the evaluation. When any of them changes, the cached value
+ * is discarded and {@link #updateTrackers()} is called; the function is not evaluated again until
+ * the next call to {@link #get()}.
+ * <p>
+ * When a change reaches several TrackableComputeds that depend on one another, all of them are
+ * marked out of date before any other tracker is notified, so readers never observe a mixture of
+ * old and new values and each function is evaluated at most once per change.
+ * <p>
+ * This makes TrackableComputeds ideal for expensive formatting or aggregation (such as a sum over a
+ * {@link TrackableCollection}) that is read by several bindings, since the work is done once per
+ * change rather than once per reader.
+ *
+ * @param <T> The type of the computed value.
+ */
+public class TrackableComputed<T> extends Trackable {
+    private final Function<T> function;
+    private final Subscription subscription;
+    private T value;
+    private boolean dirty = true;
+
+    /**
+     * Constructs a new TrackableComputed that derives its value from the given function.
+     *
+     * @param function The function to evaluate.
+     */
+    public TrackableComputed(Function<T> function) {
+        this.function = function;
+        this.subscription = new Subscription(new Tracker() {
+            @Override
+            public void update() {
+                TrackableComputed.this.invalidate();
+            }
+        }, true);
+    }
+
+    /**
+     * Gets the value of the TrackableComputed, evaluating its function if the cached value is out of
+     * date, and calls {@link #track()}.
+     *
+     * @return The value of the TrackableComputed.
+     */
+    public T get() {
+        try {
+            if (this.dirty) {
+                this.value = Trackable.track(this.subscription, this.function);
+                this.dirty = false;
+            }
+            return this.value;
+        } finally {
+            // Tracked once evaluated so that readers are placed above everything it depends on.
+            this.track();
+        }
+    }
+
+    /**
+     * @return Whether the function will be evaluated by the next call to {@link #get()}.
+     */
+    public boolean isDirty() {
+        return this.dirty;
+    }
+
+    /**
+     * Discards the cached value and calls {@link #updateTrackers()}. This is called automatically when
+     * any Trackable read by the function changes, but may also be called when the function depends
+     * on state that is not trackable.
+     */
+    public void invalidate() {
+        this.dirty = true;
+        this.value = null;
+        this.updateTrackers();
+    }
+
+    @Override
+    int getHeight() {
+        return this.subscription.getHeight();
+    }
+
+    @Override
+    public String toString() {
+        return "" + this.get();
+    }
+}
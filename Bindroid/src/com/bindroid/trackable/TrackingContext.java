@@ -0,0 +1,319 @@
+package com.bindroid.trackable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the per-thread state used by {@link Trackable}: the stack of {@link Subscription}s whose
+ * frames are currently being evaluated, and the reusable buffers that notifications are collected
+ * into so that raising a notification does not allocate.
+ * <p>
+ * Notifications are delivered in waves. Invalidating subscriptions (those of
+ * {@link TrackableComputed}s, which only mark themselves out of date) are notified as soon as a
+ * change reaches them, so a wave first pushes dirtiness through the whole graph of derived values.
+ * Every other tracker is scheduled, and once the change has finished propagating the scheduled
+ * trackers are notified in order of height -- the depth of the derived values they read -- and then
+ * in the order they were scheduled. Since derived values are recomputed lazily when read, each one
+ * is recomputed at most once per wave, and no tracker observes a mixture of old and new values.
+ */
+final class TrackingContext {
+    private static final ThreadLocal<TrackingContext> contexts = new ThreadLocal<TrackingContext>() {
+        @Override
+        protected TrackingContext initialValue() {
+            return new TrackingContext(Thread.currentThread());
+        }
+    };
+
+    /**
+     * The number of threads that currently have at least one frame open. While it is zero, reads of
+     * a Trackable can return without looking up the current thread's context at all.
+     */
+    private static final AtomicInteger trackingThreads = new AtomicInteger();
+
+    /**
+     * The number of outermost frames opened on a thread between checks for subscriptions whose owners
+     * have been garbage collected.
+     */
+    private static final int PURGE_INTERVAL = 64;
+
+    /**
+     * The context most recently looked up. Bindings are overwhelmingly evaluated on a single thread
+     * (usually the main thread), which can then skip the ThreadLocal lookup. A stale or racy value is
+     * harmless since the owner is always checked.
+     */
+    private static TrackingContext lastContext;
+
+    /**
+     * @return Whether any thread currently has a frame open.
+     */
+    static boolean isAnyThreadTracking() {
+        return TrackingContext.trackingThreads.get() != 0;
+    }
+
+    /**
+     * @return The TrackingContext for the current thread.
+     */
+    static TrackingContext current() {
+        TrackingContext context = TrackingContext.lastContext;
+        if (context == null || context.owner != Thread.currentThread()) {
+            context = TrackingContext.contexts.get();
+            TrackingContext.lastContext = context;
+        }
+        return context;
+    }
+
+    private final Thread owner;
+
+    private Subscription[] frames = new Subscription[8];
+    private int frameCount;
+
+    private Subscription[] pending = new Subscription[16];
+    private int pendingCount;
+
+    /**
+     * A binary heap of scheduled subscriptions, ordered by height and then by the order in which they
+     * were scheduled.
+     */
+    private Subscription[] scheduled = new Subscription[16];
+    private int[] scheduledHeights = new int[16];
+    private int[] scheduledOrder = new int[16];
+    private int scheduledCount;
+    private int nextOrder;
+
+    private int waveDepth;
+    private boolean flushing;
+    private int framesUntilPurge = TrackingContext.PURGE_INTERVAL;
+
+    private TrackingContext(Thread owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * @return The number of frames open on this thread.
+     */
+    int getFrameCount() {
+        return this.frameCount;
+    }
+
+    /**
+     * @param index The depth of the frame, starting from the outermost.
+     * @return The subscription tracking that frame.
+     */
+    Subscription getFrame(int index) {
+        return this.frames[index];
+    }
+
+    void pushFrame(Subscription subscription) {
+        if (this.frameCount == this.frames.length) {
+            Subscription[] grown = new Subscription[this.frames.length * 2];
+            System.arraycopy(this.frames, 0, grown, 0, this.frameCount);
+            this.frames = grown;
+        }
+        this.frames[this.frameCount++] = subscription;
+        if (this.frameCount == 1) {
+            TrackingContext.trackingThreads.incrementAndGet();
+            if (--this.framesUntilPurge == 0) {
+                this.framesUntilPurge = TrackingContext.PURGE_INTERVAL;
+                Subscription.purgeCollected();
+            }
+        }
+    }
+
+    void popFrame() {
+        this.frames[--this.frameCount] = null;
+        if (this.frameCount == 0) {
+            TrackingContext.trackingThreads.decrementAndGet();
+        }
+    }
+
+    /**
+     * Opens a wave. Scheduled trackers are not notified until every wave opened on this thread has
+     * been closed by a matching call to {@link #endWave()}.
+     */
+    void beginWave() {
+        this.waveDepth++;
+    }
+
+    /**
+     * Closes a wave. Closing the outermost wave notifies every scheduled tracker, including any
+     * scheduled while doing so.
+     */
+    void endWave() {
+        if (--this.waveDepth != 0 || this.flushing || this.scheduledCount == 0) {
+            return;
+        }
+        this.flush(this.pollScheduled());
+    }
+
+    /**
+     * Notifies a single subscription whose generation has been claimed, as though it had been
+     * scheduled within a wave of its own. This spares the common case of a Trackable with a single
+     * subscriber from opening a wave.
+     *
+     * @param subscription The subscription to notify.
+     */
+    void deliver(Subscription subscription) {
+        if (this.waveDepth != 0 || this.flushing) {
+            this.schedule(subscription);
+            return;
+        }
+        this.flush(subscription);
+    }
+
+    private void flush(Subscription first) {
+        this.flushing = true;
+        RuntimeException firstFailure = null;
+        try {
+            Subscription next = first;
+            while (true) {
+                try {
+                    next.notifyTracker();
+                } catch (RuntimeException e) {
+                    // The generations of everything scheduled have already been claimed, so a
+                    // tracker left behind here would never be notified again. Keep draining.
+                    if (firstFailure == null) {
+                        firstFailure = e;
+                    }
+                }
+                if (this.scheduledCount == 0) {
+                    break;
+                }
+                next = this.pollScheduled();
+            }
+        } finally {
+            // Release anything left behind by a tracker that threw an Error.
+            for (int x = 0; x < this.scheduledCount; x++) {
+                this.scheduled[x] = null;
+            }
+            this.scheduledCount = 0;
+            this.nextOrder = 0;
+            this.flushing = false;
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+
+    /**
+     * Marks the start of a notification. Invalidating subscriptions enqueued after this call will be
+     * notified by a matching call to {@link #notifyPending(int)}.
+     *
+     * @return The mark to pass to {@link #notifyPending(int)}.
+     */
+    int beginNotification() {
+        return this.pendingCount;
+    }
+
+    /**
+     * Adds a subscription whose generation has been claimed to the current notification.
+     *
+     * @param subscription The subscription to notify.
+     */
+    void enqueue(Subscription subscription) {
+        if (!subscription.isInvalidating()) {
+            this.schedule(subscription);
+            return;
+        }
+        if (this.pendingCount == this.pending.length) {
+            Subscription[] grown = new Subscription[this.pending.length * 2];
+            System.arraycopy(this.pending, 0, grown, 0, this.pendingCount);
+            this.pending = grown;
+        }
+        this.pending[this.pendingCount++] = subscription;
+    }
+
+    /**
+     * Notifies every invalidating subscription enqueued since the given mark. Notifications raised by
+     * those subscriptions are stacked above the current ones and fully handled before this call moves
+     * on.
+     *
+     * @param mark The value returned by {@link #beginNotification()}.
+     */
+    void notifyPending(int mark) {
+        int end = this.pendingCount;
+        int x = mark;
+        try {
+            for (; x < end; x++) {
+                Subscription subscription = this.pending[x];
+                this.pending[x] = null;
+                subscription.notifyTracker();
+            }
+        } finally {
+            // Release anything left behind by a tracker that threw.
+            for (; x < end; x++) {
+                this.pending[x] = null;
+            }
+            this.pendingCount = mark;
+        }
+    }
+
+    private void schedule(Subscription subscription) {
+        if (this.scheduledCount == this.scheduled.length) {
+            int length = this.scheduled.length * 2;
+            Subscription[] scheduled = new Subscription[length];
+            int[] heights = new int[length];
+            int[] order = new int[length];
+            System.arraycopy(this.scheduled, 0, scheduled, 0, this.scheduledCount);
+            System.arraycopy(this.scheduledHeights, 0, heights, 0, this.scheduledCount);
+            System.arraycopy(this.scheduledOrder, 0, order, 0, this.scheduledCount);
+            this.scheduled = scheduled;
+            this.scheduledHeights = heights;
+            this.scheduledOrder = order;
+        }
+        int height = subscription.getHeight();
+        int order = this.nextOrder++;
+        int x = this.scheduledCount++;
+        while (x > 0) {
+            int parent = (x - 1) >>> 1;
+            if (!this.precedes(height, order, parent)) {
+                break;
+            }
+            this.moveScheduled(parent, x);
+            x = parent;
+        }
+        this.scheduled[x] = subscription;
+        this.scheduledHeights[x] = height;
+        this.scheduledOrder[x] = order;
+    }
+
+    private Subscription pollScheduled() {
+        Subscription result = this.scheduled[0];
+        int last = --this.scheduledCount;
+        Subscription subscription = this.scheduled[last];
+        int height = this.scheduledHeights[last];
+        int order = this.scheduledOrder[last];
+        this.scheduled[last] = null;
+        if (last > 0) {
+            int x = 0;
+            while (true) {
+                int child = 2 * x + 1;
+                if (child >= last) {
+                    break;
+                }
+                if (child + 1 < last && this.precedes(this.scheduledHeights[child + 1],
+                        this.scheduledOrder[child + 1], child)) {
+                    child++;
+                }
+                if (this.precedes(height, order, child)) {
+                    break;
+                }
+                this.moveScheduled(child, x);
+                x = child;
+            }
+            this.scheduled[x] = subscription;
+            this.scheduledHeights[x] = height;
+            this.scheduledOrder[x] = order;
+        }
+        return result;
+    }
+
+    private boolean precedes(int height, int order, int index) {
+        int other = this.scheduledHeights[index];
+        return height < other || (height == other && order < this.scheduledOrder[index]);
+    }
+
+    private void moveScheduled(int from, int to) {
+        this.scheduled[to] = this.scheduled[from];
+        this.scheduledHeights[to] = this.scheduledHeights[from];
+        this.scheduledOrder[to] = this.scheduledOrder[from];
+    }
+}
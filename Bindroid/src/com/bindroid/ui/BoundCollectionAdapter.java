@@ -2,13 +2,13 @@ package com.bindroid.ui;
 
 import android.content.Context;
 import android.database.DataSetObserver;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ListAdapter;
 import android.widget.SpinnerAdapter;
 
+import com.bindroid.trackable.CollectionChangeListener;
+import com.bindroid.trackable.Subscription;
 import com.bindroid.trackable.Trackable;
 import com.bindroid.trackable.TrackableCollection;
 import com.bindroid.trackable.Tracker;
@@ -16,35 +16,151 @@ import com.bindroid.utils.Action;
 
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Provides a {@link ListAdapter} or {@link SpinnerAdapter} to wrap a {@link TrackableCollection},
  * listening for changes to the collection and notifying any UI using the adapter of those changes.
  * <p>
+ * Changes are applied once the collection notifies its trackers, so the changes made within a
+ * {@link com.bindroid.trackable.Trackable#batch(com.bindroid.utils.Action)}, or while tracking is
+ * disabled on the collection, are applied together and reported with a single
+ * {@link DataSetObserver#onChanged()}.
+ * <p>
+ * The adapter stops listening to the collection when its last {@link DataSetObserver} is
+ * unregistered, so that the collection does not keep it alive, and catches up when one is next
+ * registered.
+ * <p>
  * If the {@link View} type that this adapter creates implements {@link BoundUi}, each item the
  * adapter creates will be bound to its corresponding data value.
  *
  * @param <T> the type of object in the collection.
  */
 public class BoundCollectionAdapter<T> implements ListAdapter, SpinnerAdapter {
+    /**
+     * The number of changes that may wait to be applied before they are replaced by a snapshot of
+     * the whole collection.
+     */
+    private static final int MAX_PENDING_CHANGES = 64;
+
+    /**
+     * A change to the collection that has yet to be applied to the presented items. Inserted and
+     * replacing items are captured along with their identifiers when the change is made, since the
+     * collection may have changed again by the time the UI thread applies it. A reset captures a
+     * snapshot of the whole collection.
+     */
+    private static final class Change {
+        static final int INSERTED = 0;
+        static final int REMOVED = 1;
+        static final int MOVED = 2;
+        static final int REPLACED = 3;
+        static final int RESET = 4;
+
+        final int kind;
+        final int index;
+        final int count;
+        final Object[] items;
+        final long[] ids;
+        final TrackableCollection.Snapshot<?> snapshot;
+
+        Change(int kind, int index, int count, Object[] items, long[] ids) {
+            this.kind = kind;
+            this.index = index;
+            this.count = count;
+            this.items = items;
+            this.ids = ids;
+            this.snapshot = null;
+        }
+
+        Change(TrackableCollection.Snapshot<?> snapshot) {
+            this.kind = RESET;
+            this.index = 0;
+            this.count = snapshot.size();
+            this.items = null;
+            this.ids = null;
+            this.snapshot = snapshot;
+        }
+    }
+
     private TrackableCollection<T> data;
-    private TrackableCollection<T> presentedData;
+    private List<T> presentedItems;
+
+    /**
+     * The identifiers of the presented items, in step with presentedItems, which holds the count.
+     * The array may be longer than that, so that insertions do not always reallocate it.
+     */
+    private long[] presentedIds;
+
+    /**
+     * The snapshot presented since the last reset, or null once it has been copied into
+     * presentedItems and presentedIds to apply a change. While it is set, presentedIds is unused.
+     */
+    private TrackableCollection.Snapshot<T> presentedSnapshot;
+    private final List<Change> pendingChanges = new ArrayList<Change>();
+
+    /**
+     * Set once the pending changes have been given up on, either because there were too many or
+     * because the collection could not describe a change. Further changes are ignored until the
+     * collection notifies its trackers, when a snapshot is taken instead.
+     */
+    private boolean needsSnapshot;
+
+    /**
+     * Subscribed to the collection while the adapter is listening to it, and notified once the
+     * collection notifies its trackers. Null while the adapter has no observers.
+     */
+    private Subscription subscription;
     private Class<? extends View> viewType;
     private Class<? extends View> dropDownViewType;
     private Constructor<? extends View> viewConstructor;
     private Constructor<? extends View> dropDownViewConstructor;
-    private Tracker tracker;
     private final List<DataSetObserver> observers;
     private boolean recycleViews;
     private Map<T, View> cachedViews;
-    private Action<Void> trackAction = new Action<Void>() {
+    private final Dispatcher dispatcher;
+    private final AtomicBoolean isChangeDispatched = new AtomicBoolean();
+    private final Runnable applyChange = new Runnable() {
+        @Override
+        public void run() {
+            BoundCollectionAdapter.this.isChangeDispatched.set(false);
+            BoundCollectionAdapter.this.applyCollectionChanged();
+        }
+    };
+    private final Action<Void> readCollection = new Action<Void>() {
         @Override
         public void invoke(Void parameter) {
-            BoundCollectionAdapter.this.data.track();
+            BoundCollectionAdapter.this.data.size();
+        }
+    };
+    private final CollectionChangeListener changeListener = new CollectionChangeListener() {
+        @Override
+        public void onItemsInserted(int index, int count) {
+            BoundCollectionAdapter.this.addChange(Change.INSERTED, index, count, true);
+        }
+
+        @Override
+        public void onItemsRemoved(int index, int count) {
+            BoundCollectionAdapter.this.addChange(Change.REMOVED, index, count, false);
+        }
+
+        @Override
+        public void onItemMoved(int fromIndex, int toIndex) {
+            BoundCollectionAdapter.this.addChange(Change.MOVED, fromIndex, toIndex, false);
+        }
+
+        @Override
+        public void onItemsReplaced(int index, int count) {
+            BoundCollectionAdapter.this.addChange(Change.REPLACED, index, count, true);
+        }
+
+        @Override
+        public void onReset() {
+            BoundCollectionAdapter.this.addChange(Change.RESET, 0, 0, false);
         }
     };
 
@@ -82,12 +198,30 @@ public class BoundCollectionAdapter<T> implements ListAdapter, SpinnerAdapter {
      */
     public BoundCollectionAdapter(TrackableCollection<T> data, Class<? extends View> viewType,
                                   boolean recycleViews, boolean cacheViews, Class<? extends View> dropDownViewType) {
+        this(data, viewType, recycleViews, cacheViews, dropDownViewType, Dispatchers.getDefault());
+    }
+
+    /**
+     * Constructs a BonudCollectionAdapter for a {@link TrackableCollection} using the given viewType.
+     *
+     * @param data             the data being wrapped.
+     * @param viewType         the type of {@link View} to create for each element of the collection.
+     * @param recycleViews     whether to recycle views.
+     * @param cacheViews       whether to cache views.
+     * @param dropDownViewType the type of {@link View} to create for dropdowns.
+     * @param dispatcher       the dispatcher for the UI thread, where observers are notified.
+     */
+    public BoundCollectionAdapter(TrackableCollection<T> data, Class<? extends View> viewType,
+                                  boolean recycleViews, boolean cacheViews, Class<? extends View> dropDownViewType,
+                                  Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
         if (cacheViews) {
             this.cachedViews = new HashMap<T, View>();
         }
         this.observers = new LinkedList<DataSetObserver>();
         this.data = data;
-        this.presentedData = new TrackableCollection<T>(data);
+        this.presentedItems = new ArrayList<T>();
+        this.presentedIds = new long[0];
         this.viewType = viewType;
         this.dropDownViewType = dropDownViewType;
         try {
@@ -97,17 +231,8 @@ public class BoundCollectionAdapter<T> implements ListAdapter, SpinnerAdapter {
             throw new RuntimeException(e);
         }
         this.recycleViews = recycleViews;
-        this.tracker = new Tracker() {
-            @Override
-            public void update() {
-                synchronized (BoundCollectionAdapter.this.observers) {
-                    BoundCollectionAdapter.this.notifyCollectionChanged();
-                    Trackable.track(BoundCollectionAdapter.this.tracker,
-                            BoundCollectionAdapter.this.trackAction);
-                }
-            }
-        };
-        Trackable.track(BoundCollectionAdapter.this.tracker, this.trackAction);
+        // Listen from the start, since a list asks for the count before registering an observer.
+        this.startListening();
     }
 
     @Override
@@ -117,7 +242,7 @@ public class BoundCollectionAdapter<T> implements ListAdapter, SpinnerAdapter {
 
     @Override
     public int getCount() {
-        return this.presentedData.size();
+        return this.presentedItems.size();
     }
 
     /**
@@ -134,16 +259,18 @@ public class BoundCollectionAdapter<T> implements ListAdapter, SpinnerAdapter {
 
     @Override
     public Object getItem(int position) {
-        return this.presentedData.get(position);
+        return this.presentedItems.get(position);
     }
 
     @Override
     public long getItemId(int position) {
-        try {
-            return this.presentedData.getId(position);
-        } catch (Exception e) {
+        if (position < 0 || position >= this.presentedItems.size()) {
             return 0;
         }
+        if (this.presentedSnapshot != null) {
+            return this.presentedSnapshot.getId(position);
+        }
+        return this.presentedIds[position];
     }
 
     @Override
@@ -160,7 +287,7 @@ public class BoundCollectionAdapter<T> implements ListAdapter, SpinnerAdapter {
     private View getView(int position, View convertView, ViewGroup parent,
                          Constructor<? extends View> viewConstructor) {
         synchronized (this.observers) {
-            T dataItem = this.presentedData.get(position);
+            T dataItem = this.presentedItems.get(position);
             if (this.cachedViews != null && this.cachedViews.containsKey(dataItem)) {
                 return this.cachedViews.get(dataItem);
             }
@@ -194,7 +321,7 @@ public class BoundCollectionAdapter<T> implements ListAdapter, SpinnerAdapter {
 
     @Override
     public boolean isEmpty() {
-        return this.presentedData.isEmpty();
+        return this.presentedItems.isEmpty();
     }
 
     @Override
@@ -202,45 +329,227 @@ public class BoundCollectionAdapter<T> implements ListAdapter, SpinnerAdapter {
         return true;
     }
 
-    private void notifyCollectionChanged() {
-        // Dispatch notifications to the main thread.
-        final List<DataSetObserver> observers = new ArrayList<DataSetObserver>(this.observers);
-        Runnable toRun = new Runnable() {
-            @Override
-            public void run() {
-                BoundCollectionAdapter.this.presentedData = new TrackableCollection<T>(
-                        BoundCollectionAdapter.this.data);
-
-                if (BoundCollectionAdapter.this.cachedViews != null) {
+    /**
+     * Starts listening to the collection, replacing whatever is presented with a snapshot of it.
+     */
+    private void startListening() {
+        synchronized (this.observers) {
+            this.pendingChanges.clear();
+            this.needsSnapshot = false;
+            this.applyChange(new Change(this.data.snapshot()));
+            this.subscription = new Subscription(new Tracker() {
+                @Override
+                public void update() {
+                    BoundCollectionAdapter.this.onCollectionNotified(this);
+                }
+            });
+            Trackable.track(this.subscription, this.readCollection);
+            this.data.addChangeListener(this.changeListener);
+        }
+    }
+
+    private void stopListening() {
+        synchronized (this.observers) {
+            this.data.removeChangeListener(this.changeListener);
+            this.subscription.cancel();
+            this.subscription = null;
+            this.pendingChanges.clear();
+            this.needsSnapshot = false;
+        }
+    }
+
+    /**
+     * Records a change reported by the collection, on the thread that made it. It is applied once
+     * the collection notifies its trackers.
+     */
+    private void addChange(int kind, int index, int count, boolean capturesItems) {
+        synchronized (this.observers) {
+            if (this.needsSnapshot) {
+                return;
+            }
+            if (kind == Change.RESET || this.pendingChanges.size() >= MAX_PENDING_CHANGES) {
+                // Everything pending is superseded by a snapshot of the whole collection.
+                this.pendingChanges.clear();
+                this.needsSnapshot = true;
+            } else {
+                this.pendingChanges.add(this.captureChange(kind, index, count, capturesItems));
+            }
+        }
+    }
+
+    private Change captureChange(int kind, int index, int count, boolean capturesItems) {
+        if (!capturesItems) {
+            return new Change(kind, index, count, null, null);
+        }
+        Object[] items = new Object[count];
+        long[] ids = new long[count];
+        for (int x = 0; x < count; x++) {
+            items[x] = this.data.getUntracked(index + x);
+            ids[x] = this.data.getId(index + x);
+        }
+        return new Change(kind, index, count, items, ids);
+    }
+
+    /**
+     * Called on the thread that changed the collection once it has notified its trackers, which is
+     * deferred until the end of a batch. Takes any snapshot that is needed and arranges for the
+     * pending changes to be applied on the UI thread.
+     */
+    private void onCollectionNotified(Tracker tracker) {
+        synchronized (this.observers) {
+            Subscription subscription = this.subscription;
+            if (subscription == null || subscription.getTracker() != tracker) {
+                return;
+            }
+            if (this.needsSnapshot) {
+                this.pendingChanges.add(new Change(this.data.snapshot()));
+                this.needsSnapshot = false;
+            }
+            Trackable.track(subscription, this.readCollection);
+        }
+        this.notifyCollectionChanged();
+    }
+
+    /**
+     * Applies a change to the presented items, discarding the cached views of any items it
+     * removes or replaces. Views of items that are still presented elsewhere are simply created
+     * again when next needed.
+     */
+    @SuppressWarnings("unchecked")
+    private void applyChange(Change change) {
+        if (change.kind != Change.RESET) {
+            this.copyPresentedSnapshot();
+        }
+        int size = this.presentedItems.size();
+        long[] ids = this.presentedIds;
+        switch (change.kind) {
+            case Change.INSERTED:
+                if (size + change.count > ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(size + change.count, size + (size >> 1)));
+                    this.presentedIds = ids;
+                }
+                System.arraycopy(ids, change.index, ids, change.index + change.count,
+                        size - change.index);
+                System.arraycopy(change.ids, 0, ids, change.index, change.count);
+                this.presentedItems.addAll(change.index, (List<T>) Arrays.asList(change.items));
+                break;
+            case Change.REMOVED:
+                List<T> removed = this.presentedItems.subList(change.index,
+                        change.index + change.count);
+                if (this.cachedViews != null) {
+                    for (T item : removed) {
+                        this.cachedViews.remove(item);
+                    }
+                }
+                removed.clear();
+                System.arraycopy(ids, change.index + change.count, ids, change.index,
+                        size - change.index - change.count);
+                break;
+            case Change.MOVED:
+                // The destination of a move is carried in its count.
+                this.presentedItems.add(change.count, this.presentedItems.remove(change.index));
+                long movedId = ids[change.index];
+                if (change.index < change.count) {
+                    System.arraycopy(ids, change.index + 1, ids, change.index,
+                            change.count - change.index);
+                } else {
+                    System.arraycopy(ids, change.count, ids, change.count + 1,
+                            change.index - change.count);
+                }
+                ids[change.count] = movedId;
+                break;
+            case Change.REPLACED:
+                for (int x = 0; x < change.count; x++) {
+                    T replaced = this.presentedItems.set(change.index + x, (T) change.items[x]);
+                    if (this.cachedViews != null) {
+                        this.cachedViews.remove(replaced);
+                    }
+                    ids[change.index + x] = change.ids[x];
+                }
+                break;
+            default:
+                // The snapshot is presented as it is, and only copied if a change follows it.
+                this.presentedSnapshot = (TrackableCollection.Snapshot<T>) change.snapshot;
+                this.presentedItems = this.presentedSnapshot;
+                this.presentedIds = null;
+                if (this.cachedViews != null) {
                     Map<T, View> newCache = new HashMap<T, View>();
-                    for (T item : BoundCollectionAdapter.this.presentedData) {
-                        if (BoundCollectionAdapter.this.cachedViews.containsKey(item)) {
-                            newCache.put(item, BoundCollectionAdapter.this.cachedViews.get(item));
+                    for (T item : this.presentedItems) {
+                        View view = this.cachedViews.get(item);
+                        if (view != null) {
+                            newCache.put(item, view);
                         }
                     }
-                    BoundCollectionAdapter.this.cachedViews = newCache;
+                    this.cachedViews = newCache;
                 }
+                break;
+        }
+    }
 
-                for (DataSetObserver obs : observers) {
-                    obs.onChanged();
-                }
+    private void copyPresentedSnapshot() {
+        TrackableCollection.Snapshot<T> snapshot = this.presentedSnapshot;
+        if (snapshot == null) {
+            return;
+        }
+        this.presentedItems = new ArrayList<T>(snapshot);
+        this.presentedIds = new long[snapshot.size()];
+        for (int x = 0; x < snapshot.size(); x++) {
+            this.presentedIds[x] = snapshot.getId(x);
+        }
+        this.presentedSnapshot = null;
+    }
+
+    private void notifyCollectionChanged() {
+        // Dispatch notifications to the UI thread. Changes made while one is already on its way are
+        // picked up when it runs.
+        if (this.dispatcher.isDispatchThread()) {
+            this.applyCollectionChanged();
+        } else if (this.isChangeDispatched.compareAndSet(false, true)) {
+            this.dispatcher.dispatch(this.applyChange);
+        }
+    }
+
+    private void applyCollectionChanged() {
+        final List<DataSetObserver> observers;
+        synchronized (this.observers) {
+            if (this.pendingChanges.isEmpty()) {
+                return;
+            }
+            observers = new ArrayList<DataSetObserver>(this.observers);
+            for (Change change : this.pendingChanges) {
+                this.applyChange(change);
             }
-        };
-        if (Looper.myLooper() == Looper.getMainLooper()) {
-            toRun.run();
-        } else {
-            new Handler(Looper.getMainLooper()).post(toRun);
+            this.pendingChanges.clear();
+        }
+
+        for (DataSetObserver obs : observers) {
+            obs.onChanged();
         }
     }
 
     @Override
     public void registerDataSetObserver(DataSetObserver observer) {
-        this.observers.add(observer);
+        boolean isCatchingUp;
+        synchronized (this.observers) {
+            isCatchingUp = this.subscription == null;
+            if (isCatchingUp) {
+                this.startListening();
+            }
+            this.observers.add(observer);
+        }
+        if (isCatchingUp) {
+            // The collection may have changed while nobody was listening.
+            observer.onChanged();
+        }
     }
 
     @Override
     public void unregisterDataSetObserver(DataSetObserver observer) {
-        this.observers.remove(observer);
+        synchronized (this.observers) {
+            if (this.observers.remove(observer) && this.observers.isEmpty()) {
+                this.stopListening();
+            }
+        }
     }
 
 }
@@ -0,0 +1,32 @@
+package com.bindroid.ui;
+
+import android.view.Choreographer;
+
+/**
+ * A {@link FrameClock} that runs callbacks on the main thread at the start of the next frame, as
+ * scheduled by the main thread's {@link Choreographer}.
+ */
+public final class ChoreographerFrameClock implements FrameClock {
+    private final Dispatcher mainThread = Dispatchers.mainThread();
+
+    @Override
+    public void postFrameCallback(final Runnable callback) {
+        final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                callback.run();
+            }
+        };
+        if (this.mainThread.isDispatchThread()) {
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        } else {
+            // Choreographer instances belong to the thread that obtained them.
+            this.mainThread.dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    Choreographer.getInstance().postFrameCallback(frameCallback);
+                }
+            });
+        }
+    }
+}
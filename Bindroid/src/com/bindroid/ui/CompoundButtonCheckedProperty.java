@@ -17,6 +17,7 @@ import java.lang.ref.WeakReference;
 public class CompoundButtonCheckedProperty extends Property<Boolean> {
     private Trackable trackable = new Trackable();
     private boolean lastValue = false;
+    private final WeakReference<CompoundButton> weakButton;
 
     /**
      * Constructs a CompoundButtonCheckedProperty for a {@link CompoundButton}.
@@ -25,6 +26,7 @@ public class CompoundButtonCheckedProperty extends Property<Boolean> {
      */
     public CompoundButtonCheckedProperty(CompoundButton button) {
         final WeakReference<CompoundButton> weakButton = new WeakReference<CompoundButton>(button);
+        this.weakButton = weakButton;
         button.setOnCheckedChangeListener(new OnCheckedChangeListener() {
             @Override
             public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
@@ -55,4 +57,9 @@ public class CompoundButtonCheckedProperty extends Property<Boolean> {
         };
         this.propertyType = Boolean.TYPE;
     }
+
+    @Override
+    public WeakReference<?> getWeakOwner() {
+        return this.weakButton;
+    }
 }
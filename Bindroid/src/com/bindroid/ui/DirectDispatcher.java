@@ -0,0 +1,16 @@
+package com.bindroid.ui;
+
+/**
+ * A {@link Dispatcher} that runs every action on the calling thread.
+ */
+final class DirectDispatcher implements Dispatcher {
+    @Override
+    public boolean isDispatchThread() {
+        return true;
+    }
+
+    @Override
+    public void dispatch(Runnable action) {
+        action.run();
+    }
+}
@@ -0,0 +1,23 @@
+package com.bindroid.ui;
+
+/**
+ * Gets work onto the thread that owns the UI. {@link UiProperty}s and
+ * {@link BoundCollectionAdapter}s use a Dispatcher rather than talking to the main
+ * {@link android.os.Looper} directly, so that they can also run on a plain JVM. See
+ * {@link Dispatchers} for the available implementations.
+ */
+public interface Dispatcher {
+    /**
+     * @return whether the calling thread is the one this Dispatcher runs actions on, in which case
+     * UI properties may be accessed directly.
+     */
+    boolean isDispatchThread();
+
+    /**
+     * Runs the given action on the dispatch thread. This may be called from any thread, and
+     * returns without waiting for the action to run.
+     *
+     * @param action the action to run.
+     */
+    void dispatch(Runnable action);
+}
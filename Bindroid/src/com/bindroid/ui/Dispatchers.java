@@ -0,0 +1,92 @@
+package com.bindroid.ui;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides the standard {@link Dispatcher} implementations and the default Dispatcher used by UI
+ * bindings.
+ */
+public final class Dispatchers {
+    /**
+     * Defers loading the Android-specific dispatcher until it is first used.
+     */
+    private static final class MainThreadHolder {
+        static final Dispatcher INSTANCE = new MainThreadDispatcher();
+    }
+
+    private static final Dispatcher DIRECT = new DirectDispatcher();
+
+    private static volatile Dispatcher defaultDispatcher;
+
+    /**
+     * @return the Dispatcher used by UI bindings that are not given one explicitly. Unless
+     * {@link #setDefault(Dispatcher)} has been called, this is {@link #mainThread()}.
+     */
+    public static Dispatcher getDefault() {
+        Dispatcher dispatcher = Dispatchers.defaultDispatcher;
+        return dispatcher != null ? dispatcher : Dispatchers.mainThread();
+    }
+
+    /**
+     * Replaces the Dispatcher used by UI bindings that are not given one explicitly. Bindings that
+     * have already been created keep the Dispatcher they were created with.
+     *
+     * @param dispatcher the new default, or null to restore {@link #mainThread()}.
+     */
+    public static void setDefault(Dispatcher dispatcher) {
+        Dispatchers.defaultDispatcher = dispatcher;
+    }
+
+    /**
+     * @return a Dispatcher that runs actions on the Android main thread.
+     */
+    public static Dispatcher mainThread() {
+        return MainThreadHolder.INSTANCE;
+    }
+
+    /**
+     * @return a Dispatcher that treats every thread as the dispatch thread, running actions
+     * immediately on the calling thread.
+     */
+    public static Dispatcher direct() {
+        return Dispatchers.DIRECT;
+    }
+
+    /**
+     * Creates a Dispatcher that runs actions on a new daemon thread of its own, which stands in for
+     * the UI thread.
+     *
+     * @param name the name of the thread.
+     * @return the new Dispatcher.
+     */
+    public static Dispatcher newSingleThread(final String name) {
+        ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        return new ExecutorDispatcher(executor);
+    }
+
+    /**
+     * Creates a Dispatcher that runs actions on the given {@link Executor}. Code running in an action
+     * is considered to be on the dispatch thread. If the executor may run actions concurrently (as a
+     * virtual-thread-per-task executor on newer JVMs does), so may the Dispatcher, which is useful
+     * for load-testing bindings whose targets are thread-safe.
+     *
+     * @param executor the executor to run actions on.
+     * @return the new Dispatcher.
+     */
+    public static Dispatcher fromExecutor(Executor executor) {
+        return new ExecutorDispatcher(executor);
+    }
+
+    private Dispatchers() {
+    }
+}
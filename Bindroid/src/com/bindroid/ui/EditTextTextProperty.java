@@ -18,6 +18,7 @@ import java.lang.ref.WeakReference;
 public class EditTextTextProperty extends Property<String> {
     private Trackable notifier = new Trackable();
     private String lastValue = null;
+    private final WeakReference<EditText> weakTarget;
 
     /**
      * Constructs an EditTextTextProperty for an {@link EditText}.
@@ -26,6 +27,7 @@ public class EditTextTextProperty extends Property<String> {
      */
     public EditTextTextProperty(EditText target) {
         final WeakReference<EditText> weakTarget = new WeakReference<EditText>(target);
+        this.weakTarget = weakTarget;
         this.propertyType = String.class;
         target.addTextChangedListener(new TextWatcher() {
             @Override
@@ -66,4 +68,9 @@ public class EditTextTextProperty extends Property<String> {
             }
         };
     }
+
+    @Override
+    public WeakReference<?> getWeakOwner() {
+        return this.weakTarget;
+    }
 }
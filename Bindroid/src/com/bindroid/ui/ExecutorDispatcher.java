@@ -0,0 +1,40 @@
+package com.bindroid.ui;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link Dispatcher} that runs actions on an {@link Executor}. A thread is considered to be the
+ * dispatch thread while it is running one of the Dispatcher's actions.
+ */
+final class ExecutorDispatcher implements Dispatcher {
+    private final Executor executor;
+    private final ThreadLocal<Boolean> isDispatching = new ThreadLocal<Boolean>();
+
+    ExecutorDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean isDispatchThread() {
+        return this.isDispatching.get() != null;
+    }
+
+    @Override
+    public void dispatch(final Runnable action) {
+        this.executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (ExecutorDispatcher.this.isDispatching.get() != null) {
+                    action.run();
+                    return;
+                }
+                ExecutorDispatcher.this.isDispatching.set(Boolean.TRUE);
+                try {
+                    action.run();
+                } finally {
+                    ExecutorDispatcher.this.isDispatching.remove();
+                }
+            }
+        });
+    }
+}
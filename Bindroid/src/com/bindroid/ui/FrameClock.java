@@ -0,0 +1,15 @@
+package com.bindroid.ui;
+
+/**
+ * A source of frame callbacks, used by a {@link FrameScheduler} to decide when pending values are
+ * applied. On Android, {@link ChoreographerFrameClock} aligns them with the display's vsync.
+ */
+public interface FrameClock {
+    /**
+     * Requests that the given callback be run once, on the UI thread, at the start of the next frame.
+     * This may be called from any thread.
+     *
+     * @param callback the callback to run.
+     */
+    void postFrameCallback(Runnable callback);
+}
@@ -0,0 +1,133 @@
+package com.bindroid.ui;
+
+import com.bindroid.trackable.Trackable;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Property;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Coalesces values written to UI properties so that they are applied once per frame. Only the most
+ * recent value scheduled for each target {@link Property} is kept, and every pending value is
+ * applied in a single pass (within a {@link Trackable#batch(Action)}) when the {@link FrameClock}
+ * next fires. A burst of updates from a background thread therefore costs one frame callback rather
+ * than one message and one round trip to the UI thread per update.
+ * <p>
+ * Use {@link UiProperty#make(Property, FrameScheduler)} to bind through a FrameScheduler.
+ */
+public final class FrameScheduler {
+    private static FrameScheduler defaultScheduler;
+
+    /**
+     * @return a FrameScheduler that applies values on the main thread at the start of each frame.
+     */
+    public static synchronized FrameScheduler getDefault() {
+        if (FrameScheduler.defaultScheduler == null) {
+            FrameScheduler.defaultScheduler = new FrameScheduler(new ChoreographerFrameClock());
+        }
+        return FrameScheduler.defaultScheduler;
+    }
+
+    private final FrameClock clock;
+    private final Object lock = new Object();
+    private final Runnable flushCallback = new Runnable() {
+        @Override
+        public void run() {
+            FrameScheduler.this.flush();
+        }
+    };
+
+    /**
+     * The values waiting for the next frame, and a second map that they are swapped into while being
+     * applied so that neither has to be reallocated.
+     */
+    private Map<Property<?>, Object> pending = new LinkedHashMap<Property<?>, Object>();
+    private Map<Property<?>, Object> applying = new LinkedHashMap<Property<?>, Object>();
+    private boolean isFramePosted;
+
+    /**
+     * Applies the values in {@link #applying} within a batch, keeping the first failure in
+     * {@link #firstFailure} rather than stopping. It is only used on the UI thread, so both are
+     * fields rather than being allocated for every frame.
+     */
+    private final Action<Void> applyValues = new Action<Void>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        public void invoke(Void parameter) {
+            for (Map.Entry<Property<?>, Object> entry : FrameScheduler.this.applying.entrySet()) {
+                try {
+                    ((Property<Object>) entry.getKey()).setValue(entry.getValue());
+                } catch (RuntimeException e) {
+                    // Keep applying the rest of the frame.
+                    if (FrameScheduler.this.firstFailure == null) {
+                        FrameScheduler.this.firstFailure = e;
+                    }
+                }
+            }
+        }
+    };
+    private RuntimeException firstFailure;
+
+    /**
+     * Creates a FrameScheduler driven by the given clock.
+     *
+     * @param clock the clock that determines when pending values are applied.
+     */
+    public FrameScheduler(FrameClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Schedules a value to be set on the given property at the start of the next frame, replacing any
+     * value already scheduled for it. This may be called from any thread.
+     *
+     * @param target the property to set.
+     * @param value  the value to set it to.
+     */
+    public <T> void schedule(Property<T> target, T value) {
+        boolean post;
+        synchronized (this.lock) {
+            this.pending.put(target, value);
+            post = !this.isFramePosted;
+            this.isFramePosted = true;
+        }
+        if (post) {
+            this.clock.postFrameCallback(this.flushCallback);
+        }
+    }
+
+    /**
+     * @return the number of properties with a value waiting to be applied.
+     */
+    public int getPendingCount() {
+        synchronized (this.lock) {
+            return this.pending.size();
+        }
+    }
+
+    /**
+     * Applies every pending value immediately. This is called by the {@link FrameClock}, and must be
+     * called on the UI thread.
+     */
+    public void flush() {
+        Map<Property<?>, Object> toApply;
+        synchronized (this.lock) {
+            toApply = this.pending;
+            this.pending = this.applying;
+            this.applying = toApply;
+            this.isFramePosted = false;
+        }
+        RuntimeException failure;
+        try {
+            Trackable.batch(this.applyValues);
+        } finally {
+            toApply.clear();
+            failure = this.firstFailure;
+            this.firstFailure = null;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bindroid.ui;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * A {@link Dispatcher} for the Android main thread.
+ */
+final class MainThreadDispatcher implements Dispatcher {
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    @Override
+    public boolean isDispatchThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    @Override
+    public void dispatch(Runnable action) {
+        this.handler.post(action);
+    }
+}
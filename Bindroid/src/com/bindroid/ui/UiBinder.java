@@ -226,6 +226,23 @@ public final class UiBinder {
         return new Binding(UiProperty.make(targetProperty), sourceProperty, mode, converter);
     }
 
+    /**
+     * Binds two arbitrary properties together, where values are applied to the target by the given
+     * {@link FrameScheduler} on the main thread, at most once per frame.
+     *
+     * @param targetProperty the target property being bound.
+     * @param sourceProperty the source property being bound.
+     * @param mode           the mode for the binding.
+     * @param converter      the converter for the binding.
+     * @param scheduler      the scheduler that applies values to the target.
+     * @return the binding produced by this action.
+     */
+    public static Binding bind(Property<?> targetProperty, Property<?> sourceProperty,
+                               BindingMode mode, ValueConverter converter, FrameScheduler scheduler) {
+        return new Binding(UiProperty.make(targetProperty, scheduler), sourceProperty, mode,
+                converter);
+    }
+
     /**
      * Binds a view within a {@link View} to the given property.
      *
@@ -1,21 +1,31 @@
 package com.bindroid.ui;
 
-import android.os.Handler;
-import android.os.Looper;
-
 import com.bindroid.utils.Action;
 import com.bindroid.utils.Function;
 import com.bindroid.utils.Property;
 
+import java.lang.ref.WeakReference;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * A property that wraps another property, delegating calls to the UI thread.
+ * A property that wraps another property, delegating calls to the UI thread, which is reached
+ * through a {@link Dispatcher}.
  */
 public class UiProperty<T> extends Property<T> {
     private Property<T> property;
+    private final Dispatcher dispatcher;
 
-    private static final Handler UI_THREAD_HANDLER = new Handler(Looper.getMainLooper());
+    /**
+     * Marks the absence of a pending value in an asynchronous UiProperty.
+     */
+    private static final Object NO_VALUE = new Object();
+
+    /**
+     * The most recent value set from another thread that the UI thread has yet to apply, or NO_VALUE.
+     * Only allocated for asynchronous UiProperties.
+     */
+    private final AtomicReference<Object> pendingValue;
+    private final Runnable applyPendingValue;
 
     /**
      * Creates a UIProperty for the given property.
@@ -24,21 +34,90 @@ public class UiProperty<T> extends Property<T> {
      * @return the new property, whose getters and setters will dispatch to the UI thread.
      */
     public static <T> UiProperty<T> make(Property<T> property) {
-        return new UiProperty<T>(property);
+        return UiProperty.make(property, Dispatchers.getDefault());
+    }
+
+    /**
+     * Creates a UIProperty for the given property that reaches the UI thread through the given
+     * {@link Dispatcher}.
+     *
+     * @param property   the property to wrap.
+     * @param dispatcher the dispatcher for the UI thread.
+     * @return the new property, whose getters and setters will dispatch to the UI thread.
+     */
+    public static <T> UiProperty<T> make(Property<T> property, Dispatcher dispatcher) {
+        return new UiProperty<T>(property, dispatcher, null, false);
+    }
+
+    /**
+     * Creates a UIProperty for the given property whose setter does not wait for the UI thread.
+     * Values set from other threads are handed to the UI thread and the setter returns immediately.
+     * If the property is set again before the UI thread gets to a value, the older value is dropped,
+     * so the UI thread only ever applies the latest one.
+     *
+     * @param property the property to wrap.
+     * @return the new property, whose getters dispatch to the UI thread and whose setters post to it.
+     */
+    public static <T> UiProperty<T> makeAsync(Property<T> property) {
+        return UiProperty.makeAsync(property, Dispatchers.getDefault());
+    }
+
+    /**
+     * Creates a UIProperty like {@link #makeAsync(Property)} that reaches the UI thread through the
+     * given {@link Dispatcher}.
+     *
+     * @param property   the property to wrap.
+     * @param dispatcher the dispatcher for the UI thread.
+     * @return the new property, whose getters dispatch to the UI thread and whose setters post to it.
+     */
+    public static <T> UiProperty<T> makeAsync(Property<T> property, Dispatcher dispatcher) {
+        return new UiProperty<T>(property, dispatcher, null, true);
+    }
+
+    /**
+     * Creates a UIProperty for the given property whose values are applied on the next frame of the
+     * given {@link FrameScheduler}. Setting the property never blocks, and when it is set several
+     * times within a frame only the last value is applied.
+     *
+     * @param property  the property to wrap.
+     * @param scheduler the scheduler that applies values to the property.
+     * @return the new property, whose getters dispatch to the UI thread and whose setters are
+     * applied by the scheduler.
+     */
+    public static <T> UiProperty<T> make(Property<T> property, FrameScheduler scheduler) {
+        return new UiProperty<T>(property, Dispatchers.getDefault(), scheduler, false);
     }
 
-    private UiProperty(Property<T> property) {
+    private UiProperty(Property<T> property, Dispatcher dispatcher, final FrameScheduler scheduler,
+                       final boolean async) {
         this.property = property;
+        this.dispatcher = dispatcher;
+        if (async) {
+            this.pendingValue = new AtomicReference<Object>(NO_VALUE);
+            this.applyPendingValue = new Runnable() {
+                @SuppressWarnings("unchecked")
+                @Override
+                public void run() {
+                    Object value = UiProperty.this.pendingValue.getAndSet(NO_VALUE);
+                    if (value != NO_VALUE) {
+                        UiProperty.this.property.setValue((T) value);
+                    }
+                }
+            };
+        } else {
+            this.pendingValue = null;
+            this.applyPendingValue = null;
+        }
         if (property.getGetter() != null) {
             this.getter = new Function<T>() {
                 @Override
                 public T evaluate() {
-                    if (Looper.myLooper() == Looper.getMainLooper()) {
+                    if (UiProperty.this.dispatcher.isDispatchThread()) {
                         return UiProperty.this.property.getValue();
                     }
                     final AtomicReference<T> ref = new AtomicReference<T>();
                     synchronized (ref) {
-                        UI_THREAD_HANDLER.post(new Runnable() {
+                        UiProperty.this.dispatcher.dispatch(new Runnable() {
                             @Override
                             public void run() {
                                 synchronized (ref) {
@@ -61,12 +140,22 @@ public class UiProperty<T> extends Property<T> {
             this.setter = new Action<T>() {
                 @Override
                 public void invoke(final T parameter) {
-                    if (Looper.myLooper() == Looper.getMainLooper()) {
+                    if (scheduler != null) {
+                        scheduler.schedule(UiProperty.this.property, parameter);
+                    } else if (UiProperty.this.dispatcher.isDispatchThread()) {
+                        if (async) {
+                            // Any value still waiting for the UI thread is older than this one.
+                            UiProperty.this.pendingValue.set(NO_VALUE);
+                        }
                         UiProperty.this.property.setValue(parameter);
+                    } else if (async) {
+                        if (UiProperty.this.pendingValue.getAndSet(parameter) == NO_VALUE) {
+                            UiProperty.this.dispatcher.dispatch(UiProperty.this.applyPendingValue);
+                        }
                     } else {
                         final Object lock = new Object();
                         synchronized (lock) {
-                            UI_THREAD_HANDLER.post(new Runnable() {
+                            UiProperty.this.dispatcher.dispatch(new Runnable() {
                                 @Override
                                 public void run() {
                                     synchronized (lock) {
@@ -91,4 +180,9 @@ public class UiProperty<T> extends Property<T> {
     public Class<?> getType() {
         return this.property.getType();
     }
+
+    @Override
+    public WeakReference<?> getWeakOwner() {
+        return this.property.getWeakOwner();
+    }
 }
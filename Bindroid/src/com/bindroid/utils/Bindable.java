@@ -0,0 +1,22 @@
+package com.bindroid.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class whose properties should be bound without reflection. When the bindroid-processor
+ * annotation processor is on the compile path, it generates a {@link BindableAccessorTable} for
+ * each annotated class, and {@link ReflectedProperty} uses that table in place of looking up and
+ * invoking getters and setters reflectively.
+ * <p>
+ * The table covers the public "get{Name}"/"is{Name}" and "set{Name}" methods of the class,
+ * including inherited ones. Properties that are not in the table still fall back to reflection.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Bindable {
+}
@@ -0,0 +1,61 @@
+package com.bindroid.utils;
+
+/**
+ * Reads and writes one property of a {@link Bindable} class without reflection. Instances are
+ * generated by the bindroid-processor annotation processor.
+ */
+public abstract class BindableAccessor {
+    private final Class<?> type;
+    private final boolean isReadable;
+    private final boolean isWritable;
+
+    /**
+     * Constructs a BindableAccessor.
+     *
+     * @param type       the type of the property.
+     * @param isReadable whether the property has a getter.
+     * @param isWritable whether the property has a setter.
+     */
+    protected BindableAccessor(Class<?> type, boolean isReadable, boolean isWritable) {
+        this.type = type;
+        this.isReadable = isReadable;
+        this.isWritable = isWritable;
+    }
+
+    /**
+     * @return the type of the property.
+     */
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * @return true if the property can be read.
+     */
+    public boolean isReadable() {
+        return this.isReadable;
+    }
+
+    /**
+     * @return true if the property can be written.
+     */
+    public boolean isWritable() {
+        return this.isWritable;
+    }
+
+    /**
+     * Reads the property. Only called if {@link #isReadable()} is true.
+     *
+     * @param target the object to read the property from.
+     * @return the value of the property.
+     */
+    public abstract Object getValue(Object target);
+
+    /**
+     * Writes the property. Only called if {@link #isWritable()} is true.
+     *
+     * @param target the object to write the property to.
+     * @param value  the new value of the property.
+     */
+    public abstract void setValue(Object target, Object value);
+}
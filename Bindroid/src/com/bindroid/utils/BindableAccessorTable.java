@@ -0,0 +1,20 @@
+package com.bindroid.utils;
+
+/**
+ * The accessors for the properties of one {@link Bindable} class. The bindroid-processor annotation
+ * processor generates an implementation named "{ClassName}$$Accessors" (using the binary name of
+ * the class) in the same package, with a public no-argument constructor.
+ */
+public interface BindableAccessorTable {
+    /**
+     * The suffix appended to the binary name of a {@link Bindable} class to name its table.
+     */
+    String CLASS_NAME_SUFFIX = "$$Accessors";
+
+    /**
+     * @param propertyName the capitalized name of the property, e.g. "Name" for getName() and
+     *                     setName(), or "IsEnabled" for isEnabled().
+     * @return the accessor for the property, or null if the class has no such property.
+     */
+    BindableAccessor getAccessor(String propertyName);
+}
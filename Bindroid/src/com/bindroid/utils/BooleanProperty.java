@@ -0,0 +1,109 @@
+package com.bindroid.utils;
+
+import com.bindroid.trackable.TrackableBoolean;
+
+/**
+ * A {@link Property} of boolean values that can also be read and written without boxing.
+ * Bindings from or to a BooleanProperty use {@link #getBoolean()} and
+ * {@link #setBoolean(boolean)} directly, so values are not boxed on the way between two
+ * BooleanProperties, and are only boxed to be read from or written to another property of type
+ * boolean.
+ */
+public class BooleanProperty extends Property<Boolean> {
+    /**
+     * Gets a boolean value.
+     */
+    public interface Getter {
+        /**
+         * @return the value.
+         */
+        boolean evaluate();
+    }
+
+    /**
+     * Sets a boolean value.
+     */
+    public interface Setter {
+        /**
+         * @param parameter the new value.
+         */
+        void invoke(boolean parameter);
+    }
+
+    /**
+     * Creates a BooleanProperty that reads and writes a {@link TrackableBoolean}.
+     *
+     * @param field the field to wrap.
+     * @return a property for the field.
+     */
+    public static BooleanProperty of(final TrackableBoolean field) {
+        return new BooleanProperty(new Getter() {
+            @Override
+            public boolean evaluate() {
+                return field.get();
+            }
+        }, new Setter() {
+            @Override
+            public void invoke(boolean parameter) {
+                field.set(parameter);
+            }
+        });
+    }
+
+    private final Getter booleanGetter;
+    private final Setter booleanSetter;
+
+    /**
+     * Creates a BooleanProperty from a getter and setter, either of which may be null.
+     *
+     * @param getter the getter for the property.
+     * @param setter the setter for the property.
+     */
+    public BooleanProperty(final Getter getter, final Setter setter) {
+        super(getter == null ? null : new Function<Boolean>() {
+            @Override
+            public Boolean evaluate() {
+                return getter.evaluate();
+            }
+        }, setter == null ? null : new Action<Boolean>() {
+            @Override
+            public void invoke(Boolean parameter) {
+                setter.invoke(parameter);
+            }
+        }, boolean.class);
+        this.booleanGetter = getter;
+        this.booleanSetter = setter;
+    }
+
+    /**
+     * @return the unboxed getter for the property.
+     */
+    public Getter getBooleanGetter() {
+        return this.booleanGetter;
+    }
+
+    /**
+     * @return the unboxed setter for the property.
+     */
+    public Setter getBooleanSetter() {
+        return this.booleanSetter;
+    }
+
+    /**
+     * Invokes the unboxed getter.
+     *
+     * @return the value returned by the getter.
+     */
+    public final boolean getBoolean() {
+        return this.booleanGetter.evaluate();
+    }
+
+    /**
+     * Invokes the unboxed setter with the given value.
+     *
+     * @param value the value to pass to the setter.
+     */
+    public final void setBoolean(boolean value) {
+        this.booleanSetter.invoke(value);
+    }
+}
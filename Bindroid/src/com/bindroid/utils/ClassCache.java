@@ -0,0 +1,98 @@
+package com.bindroid.utils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe cache of values computed per {@link Class}, standing in for ClassValue (which
+ * Android does not provide). Lookups do not lock.
+ * <p>
+ * Classes are held weakly so that the cache never keeps a class (or its ClassLoader) alive. Values
+ * usually refer back to their class (through {@link java.lang.reflect.Method}s, for instance), so
+ * they are held softly; a value may therefore occasionally be computed again after memory pressure.
+ *
+ * @param <V> the type of value cached for each class.
+ */
+abstract class ClassCache<V> {
+    private static final class Key extends WeakReference<Class<?>> {
+        private final int hash;
+
+        Key(Class<?> clazz, ReferenceQueue<Class<?>> queue) {
+            super(clazz, queue);
+            this.hash = System.identityHashCode(clazz);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Class<?> clazz = this.get();
+            return clazz != null && clazz == ((Key) o).get();
+        }
+    }
+
+    private final ConcurrentHashMap<Key, SoftReference<V>> entries =
+            new ConcurrentHashMap<Key, SoftReference<V>>();
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<Class<?>>();
+
+    /**
+     * Computes the value for a class that is not in the cache. This may be called concurrently for
+     * the same class, in which case only one of the results is kept.
+     *
+     * @param clazz the class.
+     * @return the value for the class.
+     */
+    protected abstract V compute(Class<?> clazz);
+
+    /**
+     * @param clazz the class.
+     * @return the cached value for the class, computing it if necessary.
+     */
+    public V get(Class<?> clazz) {
+        SoftReference<V> reference = this.entries.get(new Key(clazz, null));
+        V value = reference == null ? null : reference.get();
+        if (value != null) {
+            return value;
+        }
+        this.expungeStaleEntries();
+        value = this.compute(clazz);
+        Key key = new Key(clazz, this.queue);
+        SoftReference<V> created = new SoftReference<V>(value);
+        SoftReference<V> existing = this.entries.putIfAbsent(key, created);
+        if (existing != null) {
+            V other = existing.get();
+            if (other != null) {
+                return other;
+            }
+            this.entries.put(key, created);
+        }
+        return value;
+    }
+
+    /**
+     * @return the number of classes in the cache.
+     */
+    int size() {
+        this.expungeStaleEntries();
+        return this.entries.size();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends Class<?>> stale;
+        while ((stale = this.queue.poll()) != null) {
+            this.entries.remove(stale);
+        }
+    }
+}
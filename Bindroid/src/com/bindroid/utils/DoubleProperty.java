@@ -0,0 +1,108 @@
+package com.bindroid.utils;
+
+import com.bindroid.trackable.TrackableDouble;
+
+/**
+ * A {@link Property} of double values that can also be read and written without boxing. Bindings
+ * from or to a DoubleProperty use {@link #getDouble()} and {@link #setDouble(double)} directly,
+ * so values are not boxed on the way between two DoubleProperties, and are only boxed to be read
+ * from or written to another property of type double.
+ */
+public class DoubleProperty extends Property<Double> {
+    /**
+     * Gets a double value.
+     */
+    public interface Getter {
+        /**
+         * @return the value.
+         */
+        double evaluate();
+    }
+
+    /**
+     * Sets a double value.
+     */
+    public interface Setter {
+        /**
+         * @param parameter the new value.
+         */
+        void invoke(double parameter);
+    }
+
+    /**
+     * Creates a DoubleProperty that reads and writes a {@link TrackableDouble}.
+     *
+     * @param field the field to wrap.
+     * @return a property for the field.
+     */
+    public static DoubleProperty of(final TrackableDouble field) {
+        return new DoubleProperty(new Getter() {
+            @Override
+            public double evaluate() {
+                return field.get();
+            }
+        }, new Setter() {
+            @Override
+            public void invoke(double parameter) {
+                field.set(parameter);
+            }
+        });
+    }
+
+    private final Getter doubleGetter;
+    private final Setter doubleSetter;
+
+    /**
+     * Creates a DoubleProperty from a getter and setter, either of which may be null.
+     *
+     * @param getter the getter for the property.
+     * @param setter the setter for the property.
+     */
+    public DoubleProperty(final Getter getter, final Setter setter) {
+        super(getter == null ? null : new Function<Double>() {
+            @Override
+            public Double evaluate() {
+                return getter.evaluate();
+            }
+        }, setter == null ? null : new Action<Double>() {
+            @Override
+            public void invoke(Double parameter) {
+                setter.invoke(parameter);
+            }
+        }, double.class);
+        this.doubleGetter = getter;
+        this.doubleSetter = setter;
+    }
+
+    /**
+     * @return the unboxed getter for the property.
+     */
+    public Getter getDoubleGetter() {
+        return this.doubleGetter;
+    }
+
+    /**
+     * @return the unboxed setter for the property.
+     */
+    public Setter getDoubleSetter() {
+        return this.doubleSetter;
+    }
+
+    /**
+     * Invokes the unboxed getter.
+     *
+     * @return the value returned by the getter.
+     */
+    public final double getDouble() {
+        return this.doubleGetter.evaluate();
+    }
+
+    /**
+     * Invokes the unboxed setter with the given value.
+     *
+     * @param value the value to pass to the setter.
+     */
+    public final void setDouble(double value) {
+        this.doubleSetter.invoke(value);
+    }
+}
@@ -1,19 +1,49 @@
 package com.bindroid.utils;
 
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Allows the Garbage Collector to be watched by creating a weak reference to a sentinel object and
- * waiting for its finalizer to run. Useful for verifying that objects are being garbage-collected.
+ * waiting for the reference to be enqueued. Useful for verifying that objects are being
+ * garbage-collected.
+ * <p>
+ * Listeners are called on a daemon thread dedicated to watching the sentinel, once for each
+ * collection that is detected. Collections that happen while the listeners are running are reported
+ * once they return.
  */
 public final class GarbageCollectionListener {
-    private static List<Action<Void>> listeners;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Action<Void>[] NO_LISTENERS = new Action[0];
+
+    private static final Object lock = new Object();
+    private static final ReferenceQueue<Object> collected = new ReferenceQueue<Object>();
+    private static final AtomicLong collectionCount = new AtomicLong();
+
+    /**
+     * Replaced as a whole whenever a listener is added or removed, so that it can be read without
+     * locking while notifying.
+     */
+    private static volatile Action<Void>[] listeners = NO_LISTENERS;
+
+    /**
+     * The reference to the current sentinel. It must remain reachable for the reference to be
+     * enqueued.
+     */
+    @SuppressWarnings("unused")
+    private static WeakReference<Object> sentinel;
 
     static {
-        GarbageCollectionListener.listeners = new LinkedList<Action<Void>>();
-        new WeakReference<GarbageCollectionListener>(new GarbageCollectionListener());
+        GarbageCollectionListener.sentinel = new WeakReference<Object>(new Object(), collected);
+        Thread watcher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                GarbageCollectionListener.watch();
+            }
+        }, "GarbageCollectionListener");
+        watcher.setDaemon(true);
+        watcher.start();
     }
 
     /**
@@ -21,41 +51,71 @@ public final class GarbageCollectionListener {
      *
      * @param action the method to call whenever a garbage collection is detected.
      */
-    public static synchronized void addListener(Action<Void> action) {
-        synchronized (listeners) {
-            GarbageCollectionListener.listeners.add(action);
+    public static void addListener(Action<Void> action) {
+        synchronized (lock) {
+            Action<Void>[] current = GarbageCollectionListener.listeners;
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Action<Void>[] updated = new Action[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = action;
+            GarbageCollectionListener.listeners = updated;
         }
     }
 
-    private static synchronized void notifyListeners() {
-        synchronized (listeners) {
-            for (Action<Void> l : new LinkedList<Action<Void>>(GarbageCollectionListener.listeners)) {
-                try {
-                    l.invoke(null);
-                } catch (Exception e) {
+    /**
+     * Removes a listener for garbage collections.
+     *
+     * @param action the action to remove.
+     */
+    public static void removeListener(Action<Void> action) {
+        synchronized (lock) {
+            Action<Void>[] current = GarbageCollectionListener.listeners;
+            for (int x = 0; x < current.length; x++) {
+                if (current[x].equals(action)) {
+                    if (current.length == 1) {
+                        GarbageCollectionListener.listeners = NO_LISTENERS;
+                        return;
+                    }
+                    @SuppressWarnings({"unchecked", "rawtypes"})
+                    Action<Void>[] updated = new Action[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, x);
+                    System.arraycopy(current, x + 1, updated, x, current.length - x - 1);
+                    GarbageCollectionListener.listeners = updated;
+                    return;
                 }
             }
-            new WeakReference<GarbageCollectionListener>(new GarbageCollectionListener());
         }
     }
 
     /**
-     * Removes a listener for garbage collections.
-     *
-     * @param action the action to remove.
+     * @return the number of garbage collections detected since this class was loaded. Several
+     * collections may be counted as one if they happen in quick succession.
      */
-    public static synchronized void removeListener(Action<Void> action) {
-        synchronized (listeners) {
-            GarbageCollectionListener.listeners.remove(action);
-        }
+    public static long getCollectionCount() {
+        return GarbageCollectionListener.collectionCount.get();
     }
 
-    private GarbageCollectionListener() {
+    private static void watch() {
+        while (true) {
+            try {
+                GarbageCollectionListener.collected.remove();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            // Watch for the next collection before notifying, so none is missed while listeners run.
+            GarbageCollectionListener.sentinel = new WeakReference<Object>(new Object(), collected);
+            GarbageCollectionListener.collectionCount.incrementAndGet();
+            for (Action<Void> listener : GarbageCollectionListener.listeners) {
+                try {
+                    listener.invoke(null);
+                } catch (Throwable e) {
+                    // A failing listener must not stop this thread, or no collection would ever be
+                    // reported again.
+                }
+            }
+        }
     }
 
-    @Override
-    protected void finalize() throws Throwable {
-        GarbageCollectionListener.notifyListeners();
-        super.finalize();
+    private GarbageCollectionListener() {
     }
 }
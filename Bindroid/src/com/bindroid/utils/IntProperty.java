@@ -0,0 +1,108 @@
+package com.bindroid.utils;
+
+import com.bindroid.trackable.TrackableInt;
+
+/**
+ * A {@link Property} of int values that can also be read and written without boxing. Bindings
+ * from or to an IntProperty use {@link #getInt()} and {@link #setInt(int)} directly, so values
+ * are not boxed on the way between two IntProperties, and are only boxed to be read from or
+ * written to another property of type int.
+ */
+public class IntProperty extends Property<Integer> {
+    /**
+     * Gets an int value.
+     */
+    public interface Getter {
+        /**
+         * @return the value.
+         */
+        int evaluate();
+    }
+
+    /**
+     * Sets an int value.
+     */
+    public interface Setter {
+        /**
+         * @param parameter the new value.
+         */
+        void invoke(int parameter);
+    }
+
+    /**
+     * Creates an IntProperty that reads and writes a {@link TrackableInt}.
+     *
+     * @param field the field to wrap.
+     * @return a property for the field.
+     */
+    public static IntProperty of(final TrackableInt field) {
+        return new IntProperty(new Getter() {
+            @Override
+            public int evaluate() {
+                return field.get();
+            }
+        }, new Setter() {
+            @Override
+            public void invoke(int parameter) {
+                field.set(parameter);
+            }
+        });
+    }
+
+    private final Getter intGetter;
+    private final Setter intSetter;
+
+    /**
+     * Creates an IntProperty from a getter and setter, either of which may be null.
+     *
+     * @param getter the getter for the property.
+     * @param setter the setter for the property.
+     */
+    public IntProperty(final Getter getter, final Setter setter) {
+        super(getter == null ? null : new Function<Integer>() {
+            @Override
+            public Integer evaluate() {
+                return getter.evaluate();
+            }
+        }, setter == null ? null : new Action<Integer>() {
+            @Override
+            public void invoke(Integer parameter) {
+                setter.invoke(parameter);
+            }
+        }, int.class);
+        this.intGetter = getter;
+        this.intSetter = setter;
+    }
+
+    /**
+     * @return the unboxed getter for the property.
+     */
+    public Getter getIntGetter() {
+        return this.intGetter;
+    }
+
+    /**
+     * @return the unboxed setter for the property.
+     */
+    public Setter getIntSetter() {
+        return this.intSetter;
+    }
+
+    /**
+     * Invokes the unboxed getter.
+     *
+     * @return the value returned by the getter.
+     */
+    public final int getInt() {
+        return this.intGetter.evaluate();
+    }
+
+    /**
+     * Invokes the unboxed setter with the given value.
+     *
+     * @param value the value to pass to the setter.
+     */
+    public final void setInt(int value) {
+        this.intSetter.invoke(value);
+    }
+}
@@ -0,0 +1,16 @@
+package com.bindroid.utils;
+
+/**
+ * An object representing a condition that a single value either satisfies or does not.
+ *
+ * @param <T> the type of the value.
+ */
+public interface Predicate<T> {
+    /**
+     * Tests the value against the condition.
+     *
+     * @param value the value to test.
+     * @return whether the value satisfies the condition.
+     */
+    boolean evaluate(T value);
+}
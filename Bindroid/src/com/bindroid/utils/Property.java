@@ -1,5 +1,7 @@
 package com.bindroid.utils;
 
+import java.lang.ref.WeakReference;
+
 /**
  * Represents a property (a getter and setter pair).
  *
@@ -59,6 +61,15 @@ public class Property<T> {
         return this.propertyType;
     }
 
+    /**
+     * @return a weak reference to the object this property reads and writes, if the property only
+     * holds that object weakly, or null otherwise. Bindings to the property stop tracking their
+     * sources once the object has been garbage collected.
+     */
+    public WeakReference<?> getWeakOwner() {
+        return null;
+    }
+
     /**
      * Invokes the getter.
      *
@@ -1,10 +1,15 @@
 package com.bindroid.utils;
 
+import com.bindroid.trackable.TrackableComputed;
+
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -100,89 +105,240 @@ public class ReflectedProperty extends Property<Object> {
         return str.substring(0, 1).toUpperCase() + str.substring(1);
     }
 
-    private static Method getGetter(Class<?> clazz, String propertyName) {
-        String getterName = "get" + capitalize(propertyName);
-        Pair<Class<?>, String> id = new Pair<Class<?>, String>(clazz, getterName);
-        Method getter = null;
-        if (knownGetters.containsKey(id)) {
-            getter = knownGetters.get(id);
-        } else {
-            getter = getMethodOrNull(clazz, getterName);
-            if (getter == null && propertyName.startsWith("Is")) {
-                // Try the "Is" form"
-                getter = getMethodOrNull(clazz, propertyName.replaceFirst("Is", "is"));
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    /**
+     * The getter and setter of one property on one class. Accessors are resolved once per class and
+     * property name, and the setter is only looked up the first time it is needed. When the class
+     * has a generated {@link BindableAccessorTable}, its accessor is used instead of reflection.
+     */
+    private static final class Accessor {
+        private final Class<?> receiverType;
+        private final String propertyName;
+        /**
+         * The capitalized property name, which is what getter and setter names are built from and
+         * what generated accessor tables are keyed by.
+         */
+        private final String key;
+        private final String setterName;
+        private final BindableAccessor bindable;
+        private final Method getter;
+        private volatile Method setter;
+        private volatile boolean isSetterResolved;
+
+        Accessor(Class<?> receiverType, String propertyName, String getterName, String setterName) {
+            this.receiverType = receiverType;
+            this.propertyName = propertyName;
+            this.key = capitalize(propertyName);
+            this.setterName = setterName;
+            this.bindable = ReflectedProperty.bindableTables.get(receiverType).getAccessor(this.key);
+            Method getter = null;
+            if (this.bindable == null || !this.bindable.isReadable()) {
+                getter = getMethodOrNull(receiverType, getterName);
+                if (getter == null && this.key.startsWith("Is")) {
+                    // Try the "Is" form"
+                    getter = getMethodOrNull(receiverType, this.key.replaceFirst("Is", "is"));
+                }
             }
-            knownGetters.put(id, getter);
+            this.getter = getter;
+        }
+
+        Class<?> getType() throws NoSuchMethodException {
+            if (this.bindable != null && this.bindable.isReadable()) {
+                return this.bindable.getType();
+            }
+            return this.getGetter().getReturnType();
+        }
+
+        Object getValue(Object root) throws Exception {
+            if (this.bindable != null && this.bindable.isReadable()) {
+                return this.bindable.getValue(root);
+            }
+            return this.getGetter().invoke(root, NO_ARGUMENTS);
         }
-        return getter;
-    }
 
-    private static Method getSetter(Class<?> clazz, String propertyName) {
-        Method setter = null;
-        String setterName = "set" + capitalize(propertyName);
-        Pair<Class<?>, String> setterId = new Pair<Class<?>, String>(clazz, setterName);
-        if (ReflectedProperty.knownSetters.containsKey(setterId)) {
-            setter = ReflectedProperty.knownSetters.get(setterId);
-        } else {
-            Method getter = getGetter(clazz, propertyName);
-            if (getter != null) {
-                setter = getMethodOrNull(clazz, setterName, 1, getter.getReturnType());
+        void setValue(Object root, Object value) throws Exception {
+            if (this.bindable != null && this.bindable.isWritable()) {
+                this.bindable.setValue(root, value);
+                return;
+            }
+            this.getSetter().invoke(root, value);
+        }
+
+        Method getGetter() throws NoSuchMethodException {
+            if (this.getter == null) {
+                throw new NoSuchMethodException(this.propertyName);
+            }
+            return this.getter;
+        }
+
+        Method getSetter() throws NoSuchMethodException {
+            if (!this.isSetterResolved) {
+                this.setter = this.resolveSetter();
+                this.isSetterResolved = true;
+            }
+            if (this.setter == null) {
+                throw new NoSuchMethodException(this.propertyName);
+            }
+            return this.setter;
+        }
+
+        private Method resolveSetter() {
+            Class<?> clazz = this.receiverType;
+            String propertyName = this.key;
+            Method setter = null;
+            Class<?> type = null;
+            if (this.getter != null) {
+                type = this.getter.getReturnType();
+            } else if (this.bindable != null && this.bindable.isReadable()) {
+                type = this.bindable.getType();
+            }
+            if (type != null) {
+                setter = getMethodOrNull(clazz, this.setterName, 1, type);
                 if (setter == null && propertyName.startsWith("Is")) {
                     // Try the setter without the "Is" prefix
                     String noIsPropertyName = propertyName.replaceFirst("Is", "set");
-                    setter = getMethodOrNull(clazz, noIsPropertyName, 1, getter.getReturnType());
+                    setter = getMethodOrNull(clazz, noIsPropertyName, 1, type);
                 }
             }
             if (setter == null) {
-                setter = getMethodOrNull(clazz, setterName, 1);
+                setter = getMethodOrNull(clazz, this.setterName, 1);
             }
             if (setter == null && propertyName.startsWith("Is")) {
                 // Try the setter without the "Is" prefix
                 String noIsPropertyName = propertyName.replaceFirst("Is", "set");
                 setter = getMethodOrNull(clazz, noIsPropertyName, 1);
             }
-            knownSetters.put(setterId, setter);
+            return setter;
         }
-        return setter;
+    }
+
+    private static Accessor getAccessor(Class<?> clazz, String propertyName, String getterName,
+                                        String setterName) {
+        ConcurrentMap<String, Accessor> accessors = ReflectedProperty.knownAccessors.get(clazz);
+        Accessor accessor = accessors.get(propertyName);
+        if (accessor == null) {
+            accessor = new Accessor(clazz, propertyName, getterName, setterName);
+            Accessor existing = accessors.putIfAbsent(propertyName, accessor);
+            if (existing != null) {
+                accessor = existing;
+            }
+        }
+        return accessor;
     }
 
     private static class PropertyPathPart extends PathPart {
-        private String propertyName;
+        private final String propertyName;
+        private final String getterName;
+        private final String setterName;
+
+        /**
+         * The accessor for the class of the most recent root, which is almost always the class of
+         * the next one too. Parts are shared through the static path cache, so the accessor is held
+         * weakly to avoid keeping its class (and that class's ClassLoader) alive; it remains
+         * reachable through the accessor cache for as long as that cache keeps it.
+         */
+        private volatile WeakReference<Accessor> lastAccessor;
 
         public PropertyPathPart(String propertyName) {
             this.propertyName = propertyName;
+            this.getterName = "get" + capitalize(propertyName);
+            this.setterName = "set" + capitalize(propertyName);
+        }
+
+        private Accessor getAccessor(Object root) {
+            Class<?> clazz = root.getClass();
+            WeakReference<Accessor> lastAccessor = this.lastAccessor;
+            Accessor accessor = lastAccessor == null ? null : lastAccessor.get();
+            if (accessor == null || accessor.receiverType != clazz) {
+                accessor = ReflectedProperty.getAccessor(clazz, this.propertyName, this.getterName,
+                        this.setterName);
+                this.lastAccessor = new WeakReference<Accessor>(accessor);
+            }
+            return accessor;
         }
 
         @Override
         public Class<?> getType(Object root) throws Exception {
-            return getGetter(root.getClass(), propertyName).getReturnType();
+            return this.getAccessor(root).getType();
         }
 
         @Override
         public Object getValue(Object root) throws Exception {
-            return getGetter(root.getClass(), propertyName).invoke(root);
+            return this.getAccessor(root).getValue(root);
         }
 
         @Override
         public void setValue(Object root, Object value) throws Exception {
-            getSetter(root.getClass(), propertyName).invoke(root, value);
+            this.getAccessor(root).setValue(root, value);
         }
     }
 
-    private static Map<Pair<Class<?>, String>, Method> knownGetters;
+    /**
+     * The accessors of each class, by property name. Android has no ClassValue, so a ClassCache keeps
+     * the tables without holding on to the classes themselves.
+     */
+    private static final ClassCache<ConcurrentMap<String, Accessor>> knownAccessors =
+            new ClassCache<ConcurrentMap<String, Accessor>>() {
+                @Override
+                protected ConcurrentMap<String, Accessor> compute(Class<?> clazz) {
+                    return new ConcurrentHashMap<String, Accessor>();
+                }
+            };
 
-    private static Map<Pair<Class<?>, String>, Method> knownSetters;
+    private static final BindableAccessorTable NO_BINDABLE_ACCESSORS = new BindableAccessorTable() {
+        @Override
+        public BindableAccessor getAccessor(String propertyName) {
+            return null;
+        }
+    };
+
+    /**
+     * The generated accessor table of each class, or of its nearest {@link Bindable} superclass.
+     */
+    private static final ClassCache<BindableAccessorTable> bindableTables =
+            new ClassCache<BindableAccessorTable>() {
+                @Override
+                protected BindableAccessorTable compute(Class<?> clazz) {
+                    for (Class<?> current = clazz; current != null && current != Object.class;
+                         current = current.getSuperclass()) {
+                        BindableAccessorTable table = loadBindableAccessorTable(current);
+                        if (table != null) {
+                            return table;
+                        }
+                    }
+                    return NO_BINDABLE_ACCESSORS;
+                }
+            };
 
-    static {
-        ReflectedProperty.knownGetters = new HashMap<Pair<Class<?>, String>, Method>();
-        ReflectedProperty.knownSetters = new HashMap<Pair<Class<?>, String>, Method>();
-        ReflectedProperty.knownPaths = new HashMap<String, PathPart[]>();
+    private static BindableAccessorTable loadBindableAccessorTable(Class<?> clazz) {
+        if (clazz.getName().startsWith("java.") || clazz.getName().startsWith("android.")) {
+            return null;
+        }
+        try {
+            Class<?> tableClass = Class.forName(
+                    clazz.getName() + BindableAccessorTable.CLASS_NAME_SUFFIX, true,
+                    clazz.getClassLoader());
+            return (BindableAccessorTable) tableClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to load the accessors of " + clazz.getName(),
+                    e);
+        }
     }
 
     private static final Pattern pathPartPattern = Pattern
             .compile("(?:(?:^|\\.)([a-zA-Z0-9_]+))|(?:\\[([^]]+?)\\])");
 
-    private static Map<String, PathPart[]> knownPaths;
+    /**
+     * The most parsed paths that are kept. Paths are cheap to parse again, so once the cache is full
+     * an arbitrary entry is evicted rather than paying for access-order bookkeeping on every lookup.
+     */
+    static final int MAX_KNOWN_PATHS = 512;
+
+    private static final ConcurrentMap<String, PathPart[]> knownPaths =
+            new ConcurrentHashMap<String, PathPart[]>();
 
     private static Method getMethodOrNull(Class<?> type, String name, int parameterCount, Class<?>... hints) {
         try {
@@ -206,8 +362,9 @@ public class ReflectedProperty extends Property<Object> {
     }
 
     private static PathPart[] getPathParts(String path) {
-        if (ReflectedProperty.knownPaths.containsKey(path)) {
-            return ReflectedProperty.knownPaths.get(path);
+        PathPart[] knownParts = ReflectedProperty.knownPaths.get(path);
+        if (knownParts != null) {
+            return knownParts;
         }
         Matcher m = ReflectedProperty.pathPartPattern.matcher(path);
         List<PathPart> parts = new ArrayList<PathPart>();
@@ -221,15 +378,34 @@ public class ReflectedProperty extends Property<Object> {
             }
             if (m.end() == path.length()) {
                 PathPart[] realParts = parts.toArray(new PathPart[parts.size()]);
-                ReflectedProperty.knownPaths.put(path, realParts);
-                return realParts;
+                return ReflectedProperty.addKnownPath(path, realParts);
             }
         }
         throw new IllegalArgumentException("Invalid property path");
     }
 
+    private static PathPart[] addKnownPath(String path, PathPart[] parts) {
+        if (ReflectedProperty.knownPaths.size() >= ReflectedProperty.MAX_KNOWN_PATHS) {
+            Iterator<String> paths = ReflectedProperty.knownPaths.keySet().iterator();
+            if (paths.hasNext()) {
+                paths.next();
+                paths.remove();
+            }
+        }
+        PathPart[] existing = ReflectedProperty.knownPaths.putIfAbsent(path, parts);
+        return existing != null ? existing : parts;
+    }
+
+    /**
+     * @return the number of parsed paths currently cached.
+     */
+    static int getKnownPathCount() {
+        return ReflectedProperty.knownPaths.size();
+    }
+
     private Object source;
     private PathPart[] parts;
+    private TrackableComputed<Object>[] segments;
 
     /**
      * Constructs a reflected property using the path provided, starting from the source.
@@ -238,8 +414,47 @@ public class ReflectedProperty extends Property<Object> {
      * @param path   the property path that this property will represent for the source.
      */
     public ReflectedProperty(Object source, String path) {
+        this(source, path, false);
+    }
+
+    /**
+     * Constructs a reflected property using the path provided, starting from the source.
+     * <p>
+     * If cacheSegments is true, the object reached by each segment of the path is cached in a
+     * {@link TrackableComputed} that tracks only the reads made by that segment. A change then
+     * re-evaluates the path from the segment whose Trackables changed, rather than from the source.
+     * This suits long paths over large object graphs, but every getter along the path must be backed
+     * by a Trackable, since a segment is never read again until one of its Trackables changes.
+     *
+     * @param source        the starting point for the property.
+     * @param path          the property path that this property will represent for the source.
+     * @param cacheSegments whether to cache the object reached by each segment of the path.
+     */
+    public ReflectedProperty(Object source, String path, boolean cacheSegments) {
         this.source = source;
         this.parts = ReflectedProperty.getPathParts(path);
+        if (cacheSegments) {
+            this.segments = this.makeSegments();
+            final TrackableComputed<Object> last = this.segments[this.segments.length - 1];
+            this.getter = new Function<Object>() {
+                @Override
+                public Object evaluate() {
+                    return last.get();
+                }
+            };
+            this.setter = new Action<Object>() {
+                @Override
+                public void invoke(Object parameter) {
+                    PathPart lastPart = ReflectedProperty.this.parts[ReflectedProperty.this.parts.length - 1];
+                    try {
+                        lastPart.setValue(ReflectedProperty.this.getParent(), parameter);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+            return;
+        }
         this.getter = new Function<Object>() {
             @Override
             public Object evaluate() {
@@ -277,20 +492,58 @@ public class ReflectedProperty extends Property<Object> {
         };
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private TrackableComputed<Object>[] makeSegments() {
+        TrackableComputed<Object>[] segments = new TrackableComputed[this.parts.length];
+        for (int x = 0; x < segments.length; x++) {
+            final PathPart part = this.parts[x];
+            final TrackableComputed<Object> previous = x == 0 ? null : segments[x - 1];
+            segments[x] = new TrackableComputed<Object>(new Function<Object>() {
+                @Override
+                public Object evaluate() {
+                    Object root = previous == null ? ReflectedProperty.this.getSource()
+                            : previous.get();
+                    if (root == null) {
+                        return null;
+                    }
+                    try {
+                        return part.getValue(root);
+                    } catch (Exception e) {
+                        return null;
+                    }
+                }
+            });
+        }
+        return segments;
+    }
+
+    /**
+     * @return the object that the last part of the path is read from, or null if it is unavailable.
+     * @throws Exception if a part of the path cannot be read.
+     */
+    private Object getParent() throws Exception {
+        if (this.segments != null) {
+            return this.segments.length == 1 ? this.getSource()
+                    : this.segments[this.segments.length - 2].get();
+        }
+        Object current = this.getSource();
+        for (int x = 0; x < this.parts.length - 1; x++) {
+            current = this.parts[x].getValue(current);
+        }
+        return current;
+    }
+
     protected Object getSource() {
         return this.source;
     }
 
     @Override
     public Class<?> getType() {
-        Object current = this.getSource();
-        for (int x = 0; x < this.parts.length - 1; x++) {
-            PathPart curPart = this.parts[x];
-            try {
-                current = curPart.getValue(current);
-            } catch (Exception e) {
-                return Object.class;
-            }
+        Object current;
+        try {
+            current = this.getParent();
+        } catch (Exception e) {
+            return Object.class;
         }
         try {
             PathPart lastPart = this.parts[this.parts.length - 1];
@@ -21,4 +21,9 @@ public class WeakReflectedProperty extends ReflectedProperty {
     protected Object getSource() {
         return ((WeakReference<Object>) super.getSource()).get();
     }
+
+    @Override
+    public WeakReference<?> getWeakOwner() {
+        return (WeakReference<?>) super.getSource();
+    }
 }
@@ -25,6 +25,13 @@ public class WeakenedProperty<T> extends Property<T> {
         this.baseProperty = new WeakReference<Property<T>>(prop);
     }
 
+    /**
+     * @return the weakened property, or null if it has been garbage collected.
+     */
+    public Property<T> getProperty() {
+        return this.baseProperty.get();
+    }
+
     @Override
     public Function<T> getGetter() {
         Property<T> prop = this.baseProperty.get();
@@ -51,4 +58,9 @@ public class WeakenedProperty<T> extends Property<T> {
         }
         return Object.class;
     }
+
+    @Override
+    public WeakReference<?> getWeakOwner() {
+        return this.baseProperty;
+    }
 }
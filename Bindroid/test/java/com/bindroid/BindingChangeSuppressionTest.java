@@ -0,0 +1,194 @@
+package com.bindroid;
+
+import com.bindroid.trackable.TrackableCollection;
+import com.bindroid.trackable.TrackableField;
+import com.bindroid.trackable.TrackableInt;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.EqualityComparer;
+import com.bindroid.utils.Function;
+import com.bindroid.utils.IntProperty;
+import com.bindroid.utils.Property;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BindingChangeSuppressionTest {
+    /**
+     * A string property over a TrackableField that counts its writes.
+     */
+    private static class CountingProperty extends Property<String> {
+        final TrackableField<String> field;
+        int writes = 0;
+
+        CountingProperty(String initialValue) {
+            this.field = new TrackableField<>(initialValue);
+            this.getter = new Function<String>() {
+                @Override
+                public String evaluate() {
+                    return field.get();
+                }
+            };
+            this.setter = new Action<String>() {
+                @Override
+                public void invoke(String parameter) {
+                    writes++;
+                    field.set(parameter);
+                }
+            };
+            this.propertyType = String.class;
+        }
+    }
+
+    /**
+     * Converts every source value to its length parity.
+     */
+    private static class ParityConverter extends ValueConverter {
+        @Override
+        public Object convertToTarget(Object sourceValue, Class<?> targetType) {
+            return ((String) sourceValue).length() % 2 == 0 ? "even" : "odd";
+        }
+
+        @Override
+        public Object convertToSource(Object targetValue, Class<?> sourceType) {
+            return "even".equals(targetValue) ? "xx" : "x";
+        }
+    }
+
+    @Test
+    public void unchanged_converted_values_are_not_written() {
+        CountingProperty source = new CountingProperty("a");
+        CountingProperty target = new CountingProperty(null);
+        new Binding(target, source, BindingMode.ONE_WAY, new ParityConverter());
+        assertEquals(1, target.writes);
+
+        source.field.set("b");
+        source.field.set("abc");
+        assertEquals(1, target.writes);
+
+        source.field.set("ab");
+        assertEquals(2, target.writes);
+        assertEquals("even", target.field.get());
+    }
+
+    @Test
+    public void two_way_changes_do_not_bounce_back() {
+        CountingProperty source = new CountingProperty("a");
+        CountingProperty target = new CountingProperty(null);
+        new Binding(target, source, BindingMode.TWO_WAY);
+        assertEquals(1, target.writes);
+        assertEquals(0, source.writes);
+
+        source.field.set("b");
+        assertEquals(2, target.writes);
+        assertEquals(0, source.writes);
+
+        target.field.set("c");
+        assertEquals(1, source.writes);
+        assertEquals("c", source.field.get());
+        assertEquals(2, target.writes);
+    }
+
+    @Test
+    public void mutable_values_are_always_written_by_default() {
+        final TrackableCollection<String> items = new TrackableCollection<>();
+        final List<Object> written = new ArrayList<>();
+        Property<List<String>> source = new Property<List<String>>(new Function<List<String>>() {
+            @Override
+            public List<String> evaluate() {
+                items.size();
+                return items;
+            }
+        }, null);
+        Property<Object> target = new Property<>(null, new Action<Object>() {
+            @Override
+            public void invoke(Object parameter) {
+                written.add(parameter);
+            }
+        });
+        new Binding(target, source);
+        items.add("a");
+        items.add("b");
+        assertEquals(3, written.size());
+    }
+
+    @Test
+    public void mutable_numbers_are_always_written_by_default() {
+        final AtomicInteger value = new AtomicInteger(1);
+        final TrackableInt changes = new TrackableInt();
+        final List<Object> written = new ArrayList<>();
+        Property<AtomicInteger> source = new Property<>(new Function<AtomicInteger>() {
+            @Override
+            public AtomicInteger evaluate() {
+                changes.get();
+                return value;
+            }
+        }, null);
+        Property<Object> target = new Property<>(null, new Action<Object>() {
+            @Override
+            public void invoke(Object parameter) {
+                written.add(parameter);
+            }
+        });
+        new Binding(target, source);
+        value.set(2);
+        changes.set(1);
+        assertEquals(2, written.size());
+
+        TrackableField<BigDecimal> decimal = new TrackableField<>(new BigDecimal("1.5"));
+        written.clear();
+        new Binding(target, new Property<BigDecimal>(decimal::get, null));
+        decimal.set(new BigDecimal("1.5"));
+        assertEquals(1, written.size());
+    }
+
+    @Test
+    public void comparer_can_be_replaced_or_disabled() {
+        CountingProperty source = new CountingProperty("a");
+        CountingProperty ignoringCase = new CountingProperty(null);
+        CountingProperty always = new CountingProperty(null);
+        new Binding(ignoringCase, source, BindingMode.ONE_WAY,
+                ValueConverter.getDefaultConverter(), new EqualityComparer<Object>() {
+                    @Override
+                    public boolean equals(Object obj1, Object obj2) {
+                        return ((String) obj1).equalsIgnoreCase((String) obj2);
+                    }
+                });
+        new Binding(always, source, BindingMode.ONE_WAY, new ParityConverter(), null);
+
+        source.field.set("A");
+        assertEquals(1, ignoringCase.writes);
+        assertEquals(2, always.writes);
+    }
+
+    @Test
+    public void primitive_bindings_skip_unchanged_values() {
+        TrackableInt source = new TrackableInt(1);
+        final int[] writes = new int[1];
+        final TrackableInt targetField = new TrackableInt();
+        IntProperty target = new IntProperty(null, new IntProperty.Setter() {
+            @Override
+            public void invoke(int parameter) {
+                writes[0]++;
+                targetField.set(parameter);
+            }
+        });
+        new Binding(target, IntProperty.of(source), BindingMode.ONE_WAY, new ValueConverter() {
+            @Override
+            public int convertIntToTarget(int sourceValue, Class<?> targetType) {
+                return sourceValue / 10;
+            }
+        });
+        source.set(5);
+        source.set(9);
+        assertEquals(1, writes[0]);
+        source.set(10);
+        assertEquals(2, writes[0]);
+        assertEquals(1, targetField.get());
+    }
+}
@@ -0,0 +1,151 @@
+package com.bindroid;
+
+import com.bindroid.trackable.TrackableField;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Function;
+import com.bindroid.utils.Property;
+import com.bindroid.utils.WeakReflectedProperty;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BindingDisposalTest {
+    public static class View {
+        private String text;
+
+        public String getText() { return text; }
+
+        public void setText(String text) { this.text = text; }
+    }
+
+    private static Property<String> reading(final TrackableField<String> field) {
+        return new Property<String>(new Function<String>() {
+            @Override
+            public String evaluate() {
+                return field.get();
+            }
+        }, new Action<String>() {
+            @Override
+            public void invoke(String parameter) {
+                field.set(parameter);
+            }
+        });
+    }
+
+    private static Property<Object> recording(final List<Object> written) {
+        return new Property<Object>(null, new Action<Object>() {
+            @Override
+            public void invoke(Object parameter) {
+                written.add(parameter);
+            }
+        });
+    }
+
+    private static void collectUntilCleared(WeakReference<?> reference) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reference.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void disposed_bindings_stop_updating() {
+        TrackableField<String> source = new TrackableField<>("a");
+        List<Object> written = new ArrayList<>();
+        Binding binding = new Binding(recording(written), reading(source));
+        source.set("b");
+        binding.dispose();
+        assertTrue(binding.isDisposed());
+        source.set("c");
+        binding.dispose();
+        assertEquals(2, written.size());
+    }
+
+    @Test
+    public void disposed_two_way_bindings_stop_updating_both_ways() {
+        TrackableField<String> source = new TrackableField<>("a");
+        TrackableField<String> target = new TrackableField<>();
+        Binding binding = new Binding(reading(target), reading(source), BindingMode.TWO_WAY);
+        assertEquals("a", target.get());
+        binding.dispose();
+        source.set("b");
+        target.set("c");
+        assertEquals("b", source.get());
+        assertEquals("c", target.get());
+    }
+
+    @Test
+    public void disposed_bindings_are_released_by_live_sources() throws Exception {
+        TrackableField<String> source = new TrackableField<>("a");
+        Property<String> sourceProperty = reading(source);
+        Binding binding = new Binding(recording(new ArrayList<>()), sourceProperty);
+        WeakReference<Binding> bindingReference = new WeakReference<>(binding);
+        binding.dispose();
+        binding = null;
+
+        collectUntilCleared(bindingReference);
+        assertNull(bindingReference.get());
+        assertEquals("a", sourceProperty.getValue());
+    }
+
+    @Test
+    public void groups_dispose_all_of_their_bindings() {
+        TrackableField<String> source = new TrackableField<>("a");
+        List<Object> written = new ArrayList<>();
+        BindingGroup group = new BindingGroup();
+        for (int x = 0; x < 1000; x++) {
+            group.add(new Binding(recording(written), reading(source)));
+        }
+        assertEquals(1000, group.size());
+        source.set("b");
+        assertEquals(2000, written.size());
+
+        group.dispose();
+        assertTrue(group.isDisposed());
+        source.set("c");
+        assertEquals(2000, written.size());
+
+        Binding late = group.add(new Binding(recording(written), reading(source)));
+        assertTrue(late.isDisposed());
+    }
+
+    private static WeakReference<Binding> bindToView(TrackableField<String> source,
+                                                     BindingMode mode) {
+        View view = new View();
+        Binding binding = new Binding(new WeakReflectedProperty(view, "Text"), reading(source),
+                mode);
+        assertEquals("a", view.getText());
+        return new WeakReference<>(binding);
+    }
+
+    @Test
+    public void bindings_to_collected_views_are_released_without_source_changes()
+            throws Exception {
+        for (BindingMode mode : new BindingMode[] {BindingMode.ONE_WAY, BindingMode.TWO_WAY}) {
+            assertReleasedWithoutSourceChanges(mode);
+        }
+    }
+
+    private static void assertReleasedWithoutSourceChanges(BindingMode mode) throws Exception {
+        TrackableField<String> source = new TrackableField<>("a");
+        WeakReference<Binding> bindingReference = bindToView(source, mode);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (bindingReference.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+            // Tracking other bindings eventually sweeps subscriptions whose owners were collected.
+            for (int x = 0; x < 100; x++) {
+                new Binding(recording(new ArrayList<>()), reading(new TrackableField<>("b")));
+            }
+        }
+        assertNull(bindingReference.get());
+        assertEquals("a", source.get());
+    }
+}
@@ -0,0 +1,191 @@
+package com.bindroid;
+
+import com.bindroid.trackable.TrackableBoolean;
+import com.bindroid.trackable.TrackableDouble;
+import com.bindroid.trackable.TrackableInt;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.BooleanProperty;
+import com.bindroid.utils.DoubleProperty;
+import com.bindroid.utils.EqualityComparer;
+import com.bindroid.utils.IntProperty;
+import com.bindroid.utils.Property;
+import com.bindroid.utils.ReflectedProperty;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PrimitiveBindingTest {
+    /**
+     * Fails if the boxed conversions are used.
+     */
+    private static class DoublingConverter extends ValueConverter {
+        @Override
+        public Object convertToTarget(Object sourceValue, Class<?> targetType) {
+            throw new AssertionError("boxed");
+        }
+
+        @Override
+        public Object convertToSource(Object targetValue, Class<?> sourceType) {
+            throw new AssertionError("boxed");
+        }
+
+        @Override
+        public int convertIntToTarget(int sourceValue, Class<?> targetType) {
+            return sourceValue * 2;
+        }
+
+        @Override
+        public int convertIntToSource(int targetValue, Class<?> sourceType) {
+            return targetValue / 2;
+        }
+    }
+
+    public static class Counter {
+        private int count;
+        int writes;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            writes++;
+            this.count = count;
+        }
+    }
+
+    @Test
+    public void int_properties_bind_through_primitive_hooks() {
+        TrackableInt source = new TrackableInt(1);
+        TrackableInt target = new TrackableInt();
+        new Binding(IntProperty.of(target), IntProperty.of(source), BindingMode.TWO_WAY,
+                new DoublingConverter());
+        assertEquals(2, target.get());
+
+        source.set(1000);
+        assertEquals(2000, target.get());
+
+        target.set(50);
+        assertEquals(25, source.get());
+    }
+
+    @Test
+    public void double_and_boolean_properties_bind_without_converter() {
+        TrackableDouble doubleSource = new TrackableDouble(1.5);
+        TrackableDouble doubleTarget = new TrackableDouble();
+        TrackableBoolean booleanSource = new TrackableBoolean(true);
+        TrackableBoolean booleanTarget = new TrackableBoolean();
+        new Binding(DoubleProperty.of(doubleTarget), DoubleProperty.of(doubleSource));
+        new Binding(BooleanProperty.of(booleanTarget), BooleanProperty.of(booleanSource));
+        assertEquals(1.5, doubleTarget.get(), 0);
+        assertTrue(booleanTarget.get());
+
+        doubleSource.set(2.5);
+        booleanSource.set(false);
+        assertEquals(2.5, doubleTarget.get(), 0);
+        assertFalse(booleanTarget.get());
+    }
+
+    @Test
+    public void boxed_converters_still_apply_to_primitive_bindings() {
+        TrackableInt source = new TrackableInt(3);
+        TrackableInt target = new TrackableInt();
+        new Binding(IntProperty.of(target), IntProperty.of(source), BindingMode.ONE_WAY,
+                new ValueConverter() {
+                    @Override
+                    public Object convertToTarget(Object sourceValue, Class<?> targetType) {
+                        assertEquals(int.class, targetType);
+                        return (Integer) sourceValue + 1;
+                    }
+                });
+        assertEquals(4, target.get());
+    }
+
+    @Test
+    public void primitive_bindings_honor_the_comparer() {
+        TrackableInt source = new TrackableInt(1);
+        final int[] writes = {0};
+        IntProperty target = new IntProperty(null, new IntProperty.Setter() {
+            @Override
+            public void invoke(int parameter) {
+                writes[0]++;
+            }
+        });
+        new Binding(target, IntProperty.of(source), BindingMode.ONE_WAY,
+                ValueConverter.getDefaultConverter(), new EqualityComparer<Object>() {
+                    @Override
+                    public boolean equals(Object obj1, Object obj2) {
+                        return (Integer) obj1 / 10 == (Integer) obj2 / 10;
+                    }
+                });
+        source.set(5);
+        assertEquals(1, writes[0]);
+        source.set(15);
+        assertEquals(2, writes[0]);
+
+        TrackableDouble doubleSource = new TrackableDouble(Double.NaN);
+        final int[] doubleWrites = {0};
+        new Binding(new DoubleProperty(null, new DoubleProperty.Setter() {
+            @Override
+            public void invoke(double parameter) {
+                doubleWrites[0]++;
+            }
+        }), DoubleProperty.of(doubleSource));
+        doubleSource.set(0.0);
+        doubleSource.set(Double.NaN);
+        doubleSource.set(Double.NaN);
+        assertEquals(3, doubleWrites[0]);
+    }
+
+    @Test
+    public void primitive_properties_bind_to_boxed_properties() {
+        TrackableInt source = new TrackableInt(7);
+        final Integer[] seen = new Integer[1];
+        new Binding(new Property<Integer>(null, new Action<Integer>() {
+            @Override
+            public void invoke(Integer parameter) {
+                seen[0] = parameter;
+            }
+        }), IntProperty.of(source));
+        assertEquals(Integer.valueOf(7), seen[0]);
+        assertEquals(Integer.valueOf(7), IntProperty.of(source).getValue());
+    }
+
+    @Test
+    public void int_properties_bind_to_int_typed_properties_through_primitive_hooks() {
+        TrackableInt source = new TrackableInt(1);
+        Counter counter = new Counter();
+        new Binding(new ReflectedProperty(counter, "Count"), IntProperty.of(source),
+                BindingMode.ONE_WAY, new DoublingConverter());
+        assertEquals(2, counter.getCount());
+
+        source.set(21);
+        assertEquals(42, counter.getCount());
+        source.set(21);
+        assertEquals(2, counter.writes);
+    }
+
+    @Test
+    public void primitive_hooks_receive_the_destination_type() {
+        TrackableInt source = new TrackableInt(1);
+        final Class<?>[] seen = new Class<?>[1];
+        IntProperty target = new IntProperty(null, new IntProperty.Setter() {
+            @Override
+            public void invoke(int parameter) {
+            }
+        }) {
+            {
+                this.propertyType = Integer.class;
+            }
+        };
+        new Binding(target, IntProperty.of(source), BindingMode.ONE_WAY, new ValueConverter() {
+            @Override
+            public Object convertToTarget(Object sourceValue, Class<?> targetType) {
+                seen[0] = targetType;
+                return sourceValue;
+            }
+        });
+        assertEquals(Integer.class, seen[0]);
+    }
+}
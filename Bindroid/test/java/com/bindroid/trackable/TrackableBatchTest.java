@@ -0,0 +1,120 @@
+package com.bindroid.trackable;
+
+import com.bindroid.utils.Action;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TrackableBatchTest {
+    private static class CountingTracker implements Tracker { int updates=0; @Override public void update(){updates++;}}
+
+    @Test
+    public void batch_notifies_each_tracker_once_after_it_completes() {
+        final TrackableInt first = new TrackableInt();
+        final TrackableInt second = new TrackableInt();
+        CountingTracker tracker = new CountingTracker();
+        Trackable.track(tracker, () -> first.get() + second.get());
+
+        Trackable.batch(new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                first.set(1);
+                second.set(2);
+                first.set(3);
+                assertEquals(0, tracker.updates);
+            }
+        });
+        assertEquals(1, tracker.updates);
+    }
+
+    @Test
+    public void nested_batches_notify_when_outermost_completes() {
+        final TrackableInt field = new TrackableInt();
+        CountingTracker tracker = new CountingTracker();
+        Trackable.track(tracker, field::get);
+
+        Trackable.batch(new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                Trackable.batch(new Action<Void>() {
+                    @Override
+                    public void invoke(Void parameter) {
+                        field.set(1);
+                    }
+                });
+                assertEquals(0, tracker.updates);
+                field.set(2);
+            }
+        });
+        assertEquals(1, tracker.updates);
+    }
+
+    @Test
+    public void batch_notifies_trackers_with_many_subscribers() {
+        final TrackableInt field = new TrackableInt();
+        CountingTracker[] trackers = new CountingTracker[5];
+        for (int x = 0; x < trackers.length; x++) {
+            trackers[x] = new CountingTracker();
+            Trackable.track(trackers[x], field::get);
+        }
+
+        Trackable.batch(new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                field.set(1);
+                field.set(2);
+            }
+        });
+        for (CountingTracker tracker : trackers) {
+            assertEquals(1, tracker.updates);
+        }
+    }
+
+    @Test
+    public void batch_notifies_even_if_action_throws() {
+        final TrackableInt field = new TrackableInt();
+        CountingTracker tracker = new CountingTracker();
+        Trackable.track(tracker, field::get);
+
+        try {
+            Trackable.batch(new Action<Void>() {
+                @Override
+                public void invoke(Void parameter) {
+                    field.set(1);
+                    throw new IllegalStateException();
+                }
+            });
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        assertEquals(1, tracker.updates);
+
+        field.set(2);
+        assertEquals(1, tracker.updates);
+    }
+
+    @Test
+    public void trackers_resubscribing_after_batch_see_final_values() {
+        final TrackableInt field = new TrackableInt();
+        final int[] seen = new int[1];
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                seen[0] = Trackable.track(this, field::get);
+            }
+        }, field::get);
+
+        Trackable.batch(new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                field.set(1);
+                field.set(2);
+            }
+        });
+        assertEquals(2, seen[0]);
+
+        field.set(3);
+        assertEquals(3, seen[0]);
+    }
+}
@@ -1,14 +1,88 @@
 package com.bindroid.trackable;
 
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Predicate;
+
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
 public class TrackableCollectionTest {
+    /**
+     * Keeps a copy of a collection up to date using only its change events.
+     */
+    private static class Mirror implements CollectionChangeListener {
+        final TrackableCollection<Integer> source;
+        final List<Integer> items = new ArrayList<>();
+        final List<Long> ids = new ArrayList<>();
+        int resets = 0;
+
+        Mirror(TrackableCollection<Integer> source) {
+            this.source = source;
+            onReset();
+            resets = 0;
+            source.addChangeListener(this);
+        }
+
+        @Override
+        public void onItemsInserted(int index, int count) {
+            for (int x = 0; x < count; x++) {
+                items.add(index + x, source.get(index + x));
+                ids.add(index + x, source.getId(index + x));
+            }
+        }
+
+        @Override
+        public void onItemsRemoved(int index, int count) {
+            items.subList(index, index + count).clear();
+            ids.subList(index, index + count).clear();
+        }
+
+        @Override
+        public void onItemMoved(int fromIndex, int toIndex) {
+            items.add(toIndex, items.remove(fromIndex));
+            ids.add(toIndex, ids.remove(fromIndex));
+        }
+
+        @Override
+        public void onItemsReplaced(int index, int count) {
+            for (int x = 0; x < count; x++) {
+                items.set(index + x, source.get(index + x));
+                ids.set(index + x, source.getId(index + x));
+            }
+        }
+
+        @Override
+        public void onReset() {
+            resets++;
+            items.clear();
+            ids.clear();
+            for (int x = 0; x < source.size(); x++) {
+                items.add(source.get(x));
+                ids.add(source.getId(x));
+            }
+        }
+
+        void assertInSync() {
+            assertEquals(Arrays.asList(source.toArray()), items);
+            for (int x = 0; x < ids.size(); x++) {
+                assertEquals((long) ids.get(x), source.getId(x));
+            }
+        }
+    }
+
     @Test
     public void list_operations_notify_and_behave_like_list() {
         TrackableCollection<String> list = new TrackableCollection<>();
@@ -32,6 +106,333 @@ public class TrackableCollectionTest {
         it.set(5); // [1,4,5,3]
         it.previous(); // move back to 5
         it.remove();   // remove 5 -> [1,4,3]
-        assertEquals(Arrays.asList(1,5,3), Arrays.asList(list.toArray(new Integer[0])));
+        assertEquals(Arrays.asList(1,4,3), Arrays.asList(list.toArray(new Integer[0])));
+    }
+
+    @Test
+    public void iteration_tracks_once_and_still_notifies() {
+        final int[] tracks = {0};
+        final TrackableCollection<Integer> list = new TrackableCollection<Integer>() {
+            @Override
+            public void track() {
+                tracks[0]++;
+                super.track();
+            }
+        };
+        for (int x = 0; x < 100; x++) {
+            list.add(x);
+        }
+        final int[] updates = {0};
+        final int[] sum = {0};
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                updates[0]++;
+            }
+        }, new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                for (int value : list) {
+                    sum[0] += value;
+                }
+            }
+        });
+        assertEquals(1, tracks[0]);
+        assertEquals(4950, sum[0]);
+
+        list.add(100);
+        assertEquals(1, updates[0]);
+    }
+
+    @Test
+    public void iterators_fail_fast_on_outside_changes() {
+        TrackableCollection<Integer> list = new TrackableCollection<>();
+        list.addAll(Arrays.asList(1, 2, 3));
+        Iterator<Integer> it = list.iterator();
+        it.next();
+        list.add(4);
+        try {
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException e) {
+        }
+
+        it = list.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(Arrays.asList(1, 3), Arrays.asList(list.toArray()));
+        try {
+            it.next();
+            fail();
+        } catch (NoSuchElementException e) {
+        }
+        try {
+            it.remove();
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        try {
+            list.listIterator(3);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+
+    @Test
+    public void change_events_describe_each_mutation() {
+        TrackableCollection<Integer> list = new TrackableCollection<>();
+        list.addAll(Arrays.asList(0, 1, 2, 3, 4, 5));
+        final List<String> events = new ArrayList<>();
+        list.addChangeListener(new CollectionChangeListener() {
+            @Override
+            public void onItemsInserted(int index, int count) {
+                events.add("insert " + index + " " + count);
+            }
+
+            @Override
+            public void onItemsRemoved(int index, int count) {
+                events.add("remove " + index + " " + count);
+            }
+
+            @Override
+            public void onItemMoved(int fromIndex, int toIndex) {
+                events.add("move " + fromIndex + " " + toIndex);
+            }
+
+            @Override
+            public void onItemsReplaced(int index, int count) {
+                events.add("replace " + index + " " + count);
+            }
+
+            @Override
+            public void onReset() {
+                events.add("reset");
+            }
+        });
+
+        list.add(6);
+        list.addAll(1, Arrays.asList(10, 11));
+        list.set(0, 20);
+        list.move(0, 3);
+        list.removeAll(Arrays.asList(10, 11, 4, 6));
+        list.updateTrackers();
+        assertEquals(Arrays.asList("insert 6 1", "insert 1 2", "replace 0 1", "move 0 3",
+                "remove 0 2", "remove 4 1", "remove 5 1", "reset"), events);
+        assertEquals(Arrays.asList(1, 20, 2, 3, 5), Arrays.asList(list.toArray()));
+    }
+
+    @Test
+    public void change_events_keep_a_copy_in_sync() {
+        TrackableCollection<Integer> list = new TrackableCollection<>();
+        Mirror mirror = new Mirror(list);
+        Random random = new Random(42);
+        for (int step = 0; step < 2000; step++) {
+            int size = list.size();
+            switch (random.nextInt(8)) {
+                case 0:
+                    list.add(random.nextInt(50));
+                    break;
+                case 1:
+                    list.add(random.nextInt(size + 1), random.nextInt(50));
+                    break;
+                case 2:
+                    list.addAll(random.nextInt(size + 1), Arrays.asList(random.nextInt(50),
+                            random.nextInt(50)));
+                    break;
+                case 3:
+                    if (size > 0) {
+                        list.remove(random.nextInt(size));
+                    }
+                    break;
+                case 4:
+                    if (size > 0) {
+                        list.set(random.nextInt(size), random.nextInt(50));
+                    }
+                    break;
+                case 5:
+                    if (size > 0) {
+                        list.move(random.nextInt(size), random.nextInt(size));
+                    }
+                    break;
+                case 6:
+                    list.removeAll(Arrays.asList(random.nextInt(50), random.nextInt(50)));
+                    break;
+                default:
+                    if (random.nextInt(10) == 0) {
+                        list.retainAll(Arrays.asList(1, 2, 3, 5, 8, 13, 21, 34));
+                    }
+                    break;
+            }
+            mirror.assertInSync();
+        }
+        assertEquals(0, mirror.resets);
+    }
+
+    @Test
+    public void ids_follow_their_items_and_are_reused() {
+        TrackableCollection<String> list = new TrackableCollection<>();
+        for (int x = 0; x < 100; x++) {
+            list.add("item" + x);
+        }
+        long firstId = list.getId(0);
+        long lastId = list.getId(99);
+        list.add(0, "front");
+        list.addAll(50, Arrays.asList("middle1", "middle2"));
+        assertEquals(firstId, list.getId(1));
+        assertEquals(lastId, list.getId(102));
+        assertEquals(103, new HashSet<>(idsOf(list)).size());
+
+        long removedId = list.getId(10);
+        list.remove(10);
+        list.add("reused");
+        assertEquals(removedId, list.getId(list.size() - 1));
+
+        list.move(0, list.size() - 1);
+        assertEquals(firstId, list.getId(0));
+
+        TrackableCollection<String> clone = new TrackableCollection<>(list);
+        assertEquals(idsOf(list), idsOf(clone));
+        try {
+            list.getId(list.size());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+
+    @Test
+    public void move_out_of_range_changes_nothing() {
+        TrackableCollection<Integer> list = new TrackableCollection<>(Arrays.asList(1, 2, 3));
+        List<Long> ids = idsOf(list);
+        for (int[] indices : new int[][]{{0, 3}, {3, 0}, {-1, 1}, {1, -1}}) {
+            try {
+                list.move(indices[0], indices[1]);
+                fail();
+            } catch (IndexOutOfBoundsException e) {
+            }
+            assertEquals(Arrays.asList(1, 2, 3), list);
+            assertEquals(ids, idsOf(list));
+        }
+    }
+
+    private static List<Long> idsOf(TrackableCollection<?> list) {
+        List<Long> ids = new ArrayList<>();
+        for (int x = 0; x < list.size(); x++) {
+            ids.add(list.getId(x));
+        }
+        return ids;
+    }
+
+    @Test
+    public void bulk_removals_notify_once_and_keep_ids_in_lockstep() {
+        for (List<Integer> backingStore : Arrays.<List<Integer>>asList(new ArrayList<Integer>(),
+                new LinkedList<Integer>())) {
+            TrackableCollection<Integer> list = new TrackableCollection<>(backingStore);
+            for (int x = 0; x < 20; x++) {
+                list.add(x);
+            }
+            Mirror mirror = new Mirror(list);
+            final int[] updates = {0};
+            final Action<Void> read = new Action<Void>() {
+                @Override
+                public void invoke(Void parameter) {
+                    list.size();
+                }
+            };
+            final Subscription[] subscription = new Subscription[1];
+            subscription[0] = new Subscription(new Tracker() {
+                @Override
+                public void update() {
+                    updates[0]++;
+                    Trackable.track(subscription[0], read);
+                }
+            });
+            Trackable.track(subscription[0], read);
+
+            assertTrue(list.removeWhere(new Predicate<Integer>() {
+                @Override
+                public boolean evaluate(Integer value) {
+                    return value % 3 == 0;
+                }
+            }));
+            assertEquals(1, updates[0]);
+            mirror.assertInSync();
+            assertEquals(Arrays.asList(1, 2, 4, 5, 7, 8, 10, 11, 13, 14, 16, 17, 19),
+                    Arrays.asList(list.toArray()));
+
+            assertFalse(list.removeAll(Arrays.asList(3, 6, 100)));
+            assertTrue(list.retainAll(new HashSet<>(Arrays.asList(2, 4, 5, 19))));
+            mirror.assertInSync();
+            assertEquals(Arrays.asList(2, 4, 5, 19), Arrays.asList(list.toArray()));
+            assertEquals(0, mirror.resets);
+        }
+    }
+
+    @Test
+    public void snapshots_are_unaffected_by_later_changes() {
+        TrackableCollection<Integer> list = new TrackableCollection<>();
+        list.addAll(Arrays.asList(1, 2, 3, 4));
+        List<Long> ids = idsOf(list);
+
+        TrackableCollection.Snapshot<Integer> before = list.snapshot();
+        TrackableCollection.Snapshot<Integer> same = list.snapshot();
+        list.add(5);
+        TrackableCollection.Snapshot<Integer> afterAdd = list.snapshot();
+        list.set(0, 10);
+        list.move(0, 2);
+        list.remove(1);
+        list.clear();
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), before);
+        assertEquals(Arrays.asList(1, 2, 3, 4), same);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), afterAdd);
+        for (int x = 0; x < ids.size(); x++) {
+            assertEquals((long) ids.get(x), before.getId(x));
+        }
+        assertTrue(list.isEmpty());
+        try {
+            before.add(6);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    @Test
+    public void sub_list_views_do_not_write_to_snapshots() {
+        TrackableCollection<Integer> list = new TrackableCollection<>();
+        list.addAll(Arrays.asList(1, 2, 3));
+        List<Integer> view = list.subList(0, 2);
+        TrackableCollection.Snapshot<Integer> snapshot = list.snapshot();
+        TrackableCollection<Integer> clone = new TrackableCollection<>(list);
+        view.set(0, 99);
+        assertEquals(Arrays.asList(1, 2, 3), snapshot);
+        assertEquals(Arrays.asList(1, 2, 3), Arrays.asList(clone.toArray()));
+        assertEquals(Arrays.asList(99, 2, 3), Arrays.asList(list.toArray()));
+    }
+
+    @Test
+    public void clones_share_storage_until_either_changes() {
+        TrackableCollection<Integer> original = new TrackableCollection<>();
+        original.addAll(Arrays.asList(1, 2, 3));
+        TrackableCollection<Integer> clone = new TrackableCollection<>(original);
+        assertEquals(idsOf(original), idsOf(clone));
+
+        clone.removeWhere(new Predicate<Integer>() {
+            @Override
+            public boolean evaluate(Integer value) {
+                return value == 2;
+            }
+        });
+        original.add(4);
+        assertEquals(Arrays.asList(1, 2, 3, 4), Arrays.asList(original.toArray()));
+        assertEquals(Arrays.asList(1, 3), Arrays.asList(clone.toArray()));
+
+        TrackableCollection<Integer> linked = new TrackableCollection<>(
+                new LinkedList<>(Arrays.asList(1, 2)));
+        TrackableCollection.Snapshot<Integer> snapshot = linked.snapshot();
+        linked.add(3);
+        assertEquals(Arrays.asList(1, 2), snapshot);
     }
 }
@@ -0,0 +1,116 @@
+package com.bindroid.trackable;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TrackableComputedTest {
+    private static class CountingTracker implements Tracker { int updates=0; @Override public void update(){updates++;}}
+
+    @Test
+    public void evaluates_lazily_and_caches_result() {
+        TrackableInt field = new TrackableInt(2);
+        int[] evaluations = new int[1];
+        TrackableComputed<Integer> doubled = new TrackableComputed<>(() -> {
+            evaluations[0]++;
+            return field.get() * 2;
+        });
+        assertEquals(0, evaluations[0]);
+        assertTrue(doubled.isDirty());
+
+        assertEquals(Integer.valueOf(4), doubled.get());
+        assertEquals(Integer.valueOf(4), doubled.get());
+        assertEquals(1, evaluations[0]);
+        assertFalse(doubled.isDirty());
+    }
+
+    @Test
+    public void dependency_change_marks_dirty_and_recomputes_on_next_read() {
+        TrackableInt field = new TrackableInt(2);
+        int[] evaluations = new int[1];
+        TrackableComputed<Integer> doubled = new TrackableComputed<>(() -> {
+            evaluations[0]++;
+            return field.get() * 2;
+        });
+        doubled.get();
+
+        field.set(3);
+        field.set(4);
+        assertTrue(doubled.isDirty());
+        assertEquals(1, evaluations[0]);
+
+        assertEquals(Integer.valueOf(8), doubled.get());
+        assertEquals(Integer.valueOf(8), doubled.get());
+        assertEquals(2, evaluations[0]);
+    }
+
+    @Test
+    public void downstream_trackers_are_notified_and_share_one_evaluation() {
+        TrackableInt field = new TrackableInt(1);
+        int[] evaluations = new int[1];
+        TrackableComputed<Integer> computed = new TrackableComputed<>(() -> {
+            evaluations[0]++;
+            return field.get() + 1;
+        });
+        CountingTracker first = new CountingTracker();
+        CountingTracker second = new CountingTracker();
+        assertEquals(Integer.valueOf(2), Trackable.track(first, computed::get));
+        assertEquals(Integer.valueOf(2), Trackable.track(second, computed::get));
+        assertEquals(1, evaluations[0]);
+
+        field.set(5);
+        assertEquals(1, first.updates);
+        assertEquals(1, second.updates);
+        assertEquals(Integer.valueOf(6), computed.get());
+        assertEquals(2, evaluations[0]);
+    }
+
+    @Test
+    public void aggregates_over_collection() {
+        TrackableCollection<Integer> numbers = new TrackableCollection<>();
+        numbers.addAll(Arrays.asList(1, 2, 3));
+        TrackableComputed<Integer> sum = new TrackableComputed<>(() -> {
+            int total = 0;
+            for (int x = 0; x < numbers.size(); x++) {
+                total += numbers.get(x);
+            }
+            return total;
+        });
+        CountingTracker tracker = new CountingTracker();
+        assertEquals(Integer.valueOf(6), Trackable.track(tracker, sum::get));
+
+        numbers.add(4);
+        assertEquals(1, tracker.updates);
+        assertEquals(Integer.valueOf(10), sum.get());
+    }
+
+    @Test
+    public void computed_values_can_be_chained() {
+        TrackableInt field = new TrackableInt(1);
+        TrackableComputed<Integer> plusOne = new TrackableComputed<>(() -> field.get() + 1);
+        TrackableComputed<String> text = new TrackableComputed<>(() -> "Value: " + plusOne.get());
+        CountingTracker tracker = new CountingTracker();
+        assertEquals("Value: 2", Trackable.track(tracker, text::get));
+
+        field.set(2);
+        assertEquals(1, tracker.updates);
+        assertTrue(plusOne.isDirty());
+        assertTrue(text.isDirty());
+        assertEquals("Value: 3", text.get());
+    }
+
+    @Test
+    public void invalidate_forces_reevaluation() {
+        int[] source = {1};
+        TrackableComputed<Integer> computed = new TrackableComputed<>(() -> source[0]);
+        CountingTracker tracker = new CountingTracker();
+        Trackable.track(tracker, computed::get);
+
+        source[0] = 2;
+        computed.invalidate();
+        assertEquals(1, tracker.updates);
+        assertEquals(Integer.valueOf(2), computed.get());
+    }
+}
@@ -0,0 +1,172 @@
+package com.bindroid.trackable;
+
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Function;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TrackablePropagationTest {
+    private static class CountingTracker implements Tracker { int updates=0; @Override public void update(){updates++;}}
+
+    @Test
+    public void diamond_recomputes_each_node_once_per_change() {
+        TrackableInt field = new TrackableInt(1);
+        int[] evaluations = new int[3];
+        TrackableComputed<Integer> left = new TrackableComputed<>(() -> {
+            evaluations[0]++;
+            return field.get() + 1;
+        });
+        TrackableComputed<Integer> right = new TrackableComputed<>(() -> {
+            evaluations[1]++;
+            return field.get() * 2;
+        });
+        TrackableComputed<Integer> bottom = new TrackableComputed<>(() -> {
+            evaluations[2]++;
+            return left.get() + right.get();
+        });
+        List<Integer> seen = new ArrayList<>();
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                seen.add(Trackable.track(this, bottom::get));
+            }
+        }, bottom::get);
+
+        field.set(2);
+        field.set(3);
+        assertEquals(Arrays.asList(7, 10), seen);
+        assertArrayEquals(new int[] {3, 3, 3}, evaluations);
+    }
+
+    @Test
+    public void trackers_never_observe_partially_updated_values() {
+        TrackableInt field = new TrackableInt(1);
+        TrackableComputed<Integer> plusOne = new TrackableComputed<>(() -> field.get() + 1);
+        TrackableComputed<Integer> plusTwo = new TrackableComputed<>(() -> field.get() + 2);
+        List<String> seen = new ArrayList<>();
+        Function<String> read = () -> plusOne.get() + "," + plusTwo.get();
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                seen.add(Trackable.track(this, read));
+            }
+        }, read);
+
+        field.set(5);
+        assertEquals(Arrays.asList("6,7"), seen);
+    }
+
+    @Test
+    public void trackers_are_notified_in_height_order() {
+        TrackableInt field = new TrackableInt(1);
+        TrackableComputed<Integer> first = new TrackableComputed<>(() -> field.get() + 1);
+        TrackableComputed<Integer> second = new TrackableComputed<>(() -> first.get() + 1);
+        List<String> order = new ArrayList<>();
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                order.add("deep");
+            }
+        }, second::get);
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                order.add("shallow");
+            }
+        }, field::get);
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                order.add("middle");
+            }
+        }, first::get);
+
+        field.set(2);
+        assertEquals(Arrays.asList("shallow", "middle", "deep"), order);
+    }
+
+    @Test
+    public void updates_made_by_a_tracker_join_the_current_wave() {
+        TrackableInt source = new TrackableInt();
+        TrackableInt x = new TrackableInt();
+        TrackableInt y = new TrackableInt();
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                int value = Trackable.track(this, source::get);
+                x.set(value);
+                y.set(value);
+            }
+        }, source::get);
+        CountingTracker tracker = new CountingTracker();
+        Trackable.track(tracker, () -> x.get() + y.get());
+
+        source.set(1);
+        assertEquals(1, tracker.updates);
+    }
+
+    @Test
+    public void batch_holds_wave_open() {
+        TrackableInt field = new TrackableInt(1);
+        int[] evaluations = new int[1];
+        TrackableComputed<Integer> computed = new TrackableComputed<>(() -> {
+            evaluations[0]++;
+            return field.get() * 10;
+        });
+        CountingTracker tracker = new CountingTracker();
+        Trackable.track(tracker, computed::get);
+
+        Trackable.batch(new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                field.set(2);
+                assertTrue(computed.isDirty());
+                assertEquals(0, tracker.updates);
+                field.set(3);
+            }
+        });
+        assertEquals(1, tracker.updates);
+        assertEquals(Integer.valueOf(30), computed.get());
+        assertEquals(2, evaluations[0]);
+    }
+
+    @Test
+    public void throwing_tracker_does_not_stop_the_rest_of_the_wave() {
+        TrackableInt first = new TrackableInt();
+        TrackableInt second = new TrackableInt();
+        CountingTracker before = new CountingTracker();
+        CountingTracker after = new CountingTracker();
+        Trackable.track(before, first::get);
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                throw new IllegalStateException();
+            }
+        }, () -> first.get() + second.get());
+        Trackable.track(after, second::get);
+
+        try {
+            Trackable.batch(new Action<Void>() {
+                @Override
+                public void invoke(Void parameter) {
+                    first.set(1);
+                    second.set(1);
+                }
+            });
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        assertEquals(1, before.updates);
+        assertEquals(1, after.updates);
+
+        Trackable.track(after, second::get);
+        second.set(2);
+        assertEquals(2, after.updates);
+    }
+}
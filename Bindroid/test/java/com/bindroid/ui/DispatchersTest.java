@@ -0,0 +1,149 @@
+package com.bindroid.ui;
+
+import com.bindroid.Binding;
+import com.bindroid.trackable.TrackableInt;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Function;
+import com.bindroid.utils.Property;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class DispatchersTest {
+    private static void await(Dispatcher dispatcher) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        dispatcher.dispatch(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * A property that records the thread it was last accessed on.
+     */
+    private static Property<Integer> threadRecording(final TrackableInt value,
+                                                     final AtomicReference<Thread> lastThread) {
+        return new Property<Integer>(new Function<Integer>() {
+            @Override
+            public Integer evaluate() {
+                lastThread.set(Thread.currentThread());
+                return value.get();
+            }
+        }, new Action<Integer>() {
+            @Override
+            public void invoke(Integer parameter) {
+                lastThread.set(Thread.currentThread());
+                value.set(parameter);
+            }
+        }, Integer.class);
+    }
+
+    @Test
+    public void direct_dispatcher_runs_inline() {
+        Dispatcher dispatcher = Dispatchers.direct();
+        assertTrue(dispatcher.isDispatchThread());
+        AtomicBoolean ran = new AtomicBoolean();
+        dispatcher.dispatch(() -> ran.set(true));
+        assertTrue(ran.get());
+    }
+
+    @Test
+    public void single_thread_dispatcher_runs_on_its_own_thread() throws Exception {
+        Dispatcher dispatcher = Dispatchers.newSingleThread("ui");
+        assertFalse(dispatcher.isDispatchThread());
+        AtomicReference<String> name = new AtomicReference<>();
+        AtomicBoolean onDispatchThread = new AtomicBoolean();
+        dispatcher.dispatch(() -> {
+            name.set(Thread.currentThread().getName());
+            onDispatchThread.set(dispatcher.isDispatchThread());
+        });
+        await(dispatcher);
+        assertEquals("ui", name.get());
+        assertTrue(onDispatchThread.get());
+    }
+
+    @Test
+    public void executor_dispatcher_treats_running_actions_as_dispatch_thread() throws Exception {
+        Executor newThreadPerTask = runnable -> new Thread(runnable).start();
+        Dispatcher dispatcher = Dispatchers.fromExecutor(newThreadPerTask);
+        AtomicBoolean onDispatchThread = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(1);
+        dispatcher.dispatch(() -> {
+            onDispatchThread.set(dispatcher.isDispatchThread());
+            latch.countDown();
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(onDispatchThread.get());
+        assertFalse(dispatcher.isDispatchThread());
+    }
+
+    @Test
+    public void default_dispatcher_can_be_replaced() {
+        Dispatcher dispatcher = Dispatchers.direct();
+        Dispatchers.setDefault(dispatcher);
+        try {
+            assertSame(dispatcher, Dispatchers.getDefault());
+        } finally {
+            Dispatchers.setDefault(null);
+        }
+    }
+
+    @Test
+    public void ui_property_blocks_until_dispatcher_applies_value() {
+        Dispatcher dispatcher = Dispatchers.newSingleThread("ui");
+        TrackableInt value = new TrackableInt();
+        AtomicReference<Thread> lastThread = new AtomicReference<>();
+        UiProperty<Integer> property = UiProperty.make(threadRecording(value, lastThread),
+                dispatcher);
+
+        property.setValue(5);
+        assertEquals(5, value.get());
+        assertEquals("ui", lastThread.get().getName());
+        assertEquals(Integer.valueOf(5), property.getValue());
+        assertEquals("ui", lastThread.get().getName());
+    }
+
+    @Test
+    public void async_ui_property_applies_latest_value_on_dispatcher() throws Exception {
+        Dispatcher dispatcher = Dispatchers.newSingleThread("ui");
+        TrackableInt value = new TrackableInt();
+        AtomicReference<Thread> lastThread = new AtomicReference<>();
+        UiProperty<Integer> property = UiProperty.makeAsync(threadRecording(value, lastThread),
+                dispatcher);
+
+        for (int x = 1; x <= 1000; x++) {
+            property.setValue(x);
+        }
+        await(dispatcher);
+        assertEquals(1000, value.get());
+        assertEquals("ui", lastThread.get().getName());
+    }
+
+    @Test
+    public void binding_runs_on_plain_jvm_through_dispatcher() throws Exception {
+        Dispatcher dispatcher = Dispatchers.newSingleThread("ui");
+        TrackableInt source = new TrackableInt(1);
+        TrackableInt target = new TrackableInt();
+        AtomicReference<Thread> lastThread = new AtomicReference<>();
+        Property<Integer> sourceProperty = new Property<>(source::get, null, Integer.class);
+        new Binding(UiProperty.makeAsync(threadRecording(target, lastThread), dispatcher),
+                sourceProperty);
+        await(dispatcher);
+        assertEquals(1, target.get());
+
+        source.set(2);
+        await(dispatcher);
+        assertEquals(2, target.get());
+        assertEquals("ui", lastThread.get().getName());
+    }
+}
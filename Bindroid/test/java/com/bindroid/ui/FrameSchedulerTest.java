@@ -0,0 +1,161 @@
+package com.bindroid.ui;
+
+import com.bindroid.Binding;
+import com.bindroid.trackable.TrackableInt;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class FrameSchedulerTest {
+    private static class ManualClock implements FrameClock {
+        final List<Runnable> callbacks = new ArrayList<>();
+
+        @Override
+        public synchronized void postFrameCallback(Runnable callback) {
+            callbacks.add(callback);
+        }
+
+        synchronized void frame() {
+            List<Runnable> toRun = new ArrayList<>(callbacks);
+            callbacks.clear();
+            for (Runnable callback : toRun) {
+                callback.run();
+            }
+        }
+    }
+
+    private static <T> Property<T> recording(final List<T> applied) {
+        return new Property<T>(null, new Action<T>() {
+            @Override
+            public void invoke(T parameter) {
+                applied.add(parameter);
+            }
+        });
+    }
+
+    @Test
+    public void last_write_wins_per_target_within_a_frame() {
+        ManualClock clock = new ManualClock();
+        FrameScheduler scheduler = new FrameScheduler(clock);
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        Property<Integer> firstTarget = recording(first);
+        Property<Integer> secondTarget = recording(second);
+
+        for (int x = 0; x < 500; x++) {
+            scheduler.schedule(firstTarget, x);
+        }
+        scheduler.schedule(secondTarget, 7);
+        assertTrue(first.isEmpty());
+        assertEquals(2, scheduler.getPendingCount());
+        assertEquals(1, clock.callbacks.size());
+
+        clock.frame();
+        assertEquals(Arrays.asList(499), first);
+        assertEquals(Arrays.asList(7), second);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void posts_one_callback_per_frame() {
+        ManualClock clock = new ManualClock();
+        FrameScheduler scheduler = new FrameScheduler(clock);
+        List<String> applied = new ArrayList<>();
+        Property<String> target = recording(applied);
+
+        scheduler.schedule(target, "a");
+        clock.frame();
+        assertTrue(clock.callbacks.isEmpty());
+
+        scheduler.schedule(target, "b");
+        scheduler.schedule(target, "c");
+        assertEquals(1, clock.callbacks.size());
+        clock.frame();
+        assertEquals(Arrays.asList("a", "c"), applied);
+    }
+
+    @Test
+    public void values_scheduled_while_applying_wait_for_next_frame() {
+        ManualClock clock = new ManualClock();
+        final FrameScheduler scheduler = new FrameScheduler(clock);
+        final List<Integer> applied = new ArrayList<>();
+        final Property<Integer>[] target = new Property[1];
+        target[0] = new Property<Integer>(null, new Action<Integer>() {
+            @Override
+            public void invoke(Integer parameter) {
+                applied.add(parameter);
+                if (parameter < 2) {
+                    scheduler.schedule(target[0], parameter + 1);
+                }
+            }
+        });
+
+        scheduler.schedule(target[0], 0);
+        clock.frame();
+        assertEquals(Arrays.asList(0), applied);
+        clock.frame();
+        clock.frame();
+        assertEquals(Arrays.asList(0, 1, 2), applied);
+    }
+
+    @Test
+    public void binding_through_scheduler_applies_latest_source_value() {
+        ManualClock clock = new ManualClock();
+        final FrameScheduler scheduler = new FrameScheduler(clock);
+        final TrackableInt source = new TrackableInt(0);
+        final TrackableInt applied = new TrackableInt(-1);
+        final Property<Integer> target = new Property<>(applied::get, new Action<Integer>() {
+            @Override
+            public void invoke(Integer parameter) {
+                applied.set(parameter);
+            }
+        }, Integer.class);
+        Property<Integer> scheduled = new Property<>(null, new Action<Integer>() {
+            @Override
+            public void invoke(Integer parameter) {
+                scheduler.schedule(target, parameter);
+            }
+        }, Integer.class);
+        Property<Integer> sourceProperty = new Property<>(source::get, null, Integer.class);
+        new Binding(scheduled, sourceProperty);
+
+        for (int x = 1; x <= 100; x++) {
+            source.set(x);
+        }
+        assertEquals(-1, applied.get());
+        clock.frame();
+        assertEquals(100, applied.get());
+    }
+
+    @Test
+    public void concurrent_writers_are_coalesced() throws Exception {
+        ManualClock clock = new ManualClock();
+        final FrameScheduler scheduler = new FrameScheduler(clock);
+        final List<Integer> applied = new ArrayList<>();
+        final Property<Integer> target = recording(applied);
+        final CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int x = 0; x < 1000; x++) {
+                        scheduler.schedule(target, x);
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        assertEquals(1, clock.callbacks.size());
+        clock.frame();
+        assertEquals(Arrays.asList(999), applied);
+    }
+}
@@ -0,0 +1,124 @@
+package com.bindroid.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BindableTest {
+    @Bindable
+    public static class Model {
+        private String name;
+        private int count;
+        private Model child;
+        boolean viaGeneratedAccessor;
+
+        public String getName() {
+            viaGeneratedAccessor = isCalledByGeneratedAccessor();
+            return name;
+        }
+
+        public void setName(String name) {
+            viaGeneratedAccessor = isCalledByGeneratedAccessor();
+            this.name = name;
+        }
+
+        public int getCount() { return count; }
+
+        public void setCount(int count) { this.count = count; }
+
+        public Model getChild() { return child; }
+
+        public void setChild(Model child) { this.child = child; }
+    }
+
+    public static class Derived extends Model {
+        private String extra;
+
+        public String getExtra() { return extra; }
+
+        public void setExtra(String extra) { this.extra = extra; }
+    }
+
+    public static class PlainSwitch {
+        private long total;
+        private boolean active;
+
+        public long getTotal() { return total; }
+
+        public void setTotal(long total) { this.total = total; }
+
+        public boolean isActive() { return active; }
+
+        public void setActive(boolean active) { this.active = active; }
+
+        public boolean isOpen() { return false; }
+
+        public String getIsOpen() { return "getIsOpen"; }
+    }
+
+    @Bindable
+    public static class BindableSwitch extends PlainSwitch {
+    }
+
+    /**
+     * @return true if the caller of the calling method is a generated accessor table.
+     */
+    private static boolean isCalledByGeneratedAccessor() {
+        StackTraceElement caller = new Throwable().getStackTrace()[2];
+        return caller.getClassName().contains(BindableAccessorTable.CLASS_NAME_SUFFIX);
+    }
+
+    @Test
+    public void bindable_classes_are_accessed_without_reflection() {
+        Model model = new Model();
+        ReflectedProperty property = new ReflectedProperty(model, "Name");
+
+        property.setValue("hello");
+        assertTrue(model.viaGeneratedAccessor);
+        assertEquals("hello", property.getValue());
+        assertTrue(model.viaGeneratedAccessor);
+        assertEquals(String.class, property.getType());
+    }
+
+    @Test
+    public void nested_paths_and_primitives_use_generated_accessors() {
+        Model model = new Model();
+        model.setChild(new Model());
+        ReflectedProperty count = new ReflectedProperty(model, "Child.Count");
+
+        count.setValue(4);
+        assertEquals(4, model.getChild().getCount());
+        assertEquals(4, count.getValue());
+        assertEquals(int.class, count.getType());
+    }
+
+    @Test
+    public void generated_accessors_resolve_and_convert_like_reflection() throws Exception {
+        Class.forName(BindableSwitch.class.getName() + BindableAccessorTable.CLASS_NAME_SUFFIX);
+        for (PlainSwitch target : new PlainSwitch[] {new PlainSwitch(), new BindableSwitch()}) {
+            new ReflectedProperty(target, "Total").setValue(3);
+            assertEquals(3L, target.getTotal());
+
+            new ReflectedProperty(target, "IsActive").setValue(true);
+            assertTrue(target.isActive());
+            new ReflectedProperty(target, "isActive").setValue(false);
+            assertFalse(target.isActive());
+            assertEquals(false, new ReflectedProperty(target, "isActive").getValue());
+
+            assertEquals("getIsOpen", new ReflectedProperty(target, "IsOpen").getValue());
+        }
+    }
+
+    @Test
+    public void subclasses_use_the_superclass_table_and_fall_back_to_reflection() {
+        Derived derived = new Derived();
+        ReflectedProperty name = new ReflectedProperty(derived, "Name");
+        ReflectedProperty extra = new ReflectedProperty(derived, "Extra");
+
+        name.setValue("inherited");
+        extra.setValue("reflected");
+        assertTrue(derived.viaGeneratedAccessor);
+        assertEquals("inherited", name.getValue());
+        assertEquals("reflected", derived.getExtra());
+    }
+}
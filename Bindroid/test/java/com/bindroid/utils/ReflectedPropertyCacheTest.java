@@ -0,0 +1,142 @@
+package com.bindroid.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ReflectedPropertyCacheTest {
+    public static class Bean {
+        private String name;
+        private Bean child;
+
+        public String getName() { return name; }
+
+        public void setName(String name) { this.name = name; }
+
+        public Bean getChild() { return child; }
+
+        public void setChild(Bean child) { this.child = child; }
+    }
+
+    private static class CountingCache extends ClassCache<Object> {
+        int computations = 0;
+
+        @Override
+        protected synchronized Object compute(Class<?> clazz) {
+            computations++;
+            return new Object();
+        }
+    }
+
+    private static Class<?> loadIsolatedBean() throws Exception {
+        final String name = Bean.class.getName();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = Bean.class.getResourceAsStream("/" + name.replace('.', '/') + ".class")) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+        }
+        final byte[] definition = bytes.toByteArray();
+        ClassLoader loader = new ClassLoader(null) {
+            @Override
+            protected Class<?> findClass(String className) throws ClassNotFoundException {
+                if (className.equals(name)) {
+                    return defineClass(className, definition, 0, definition.length);
+                }
+                throw new ClassNotFoundException(className);
+            }
+        };
+        return loader.loadClass(name);
+    }
+
+    @Test
+    public void class_cache_computes_once_per_class() {
+        CountingCache cache = new CountingCache();
+        Object first = cache.get(String.class);
+        assertSame(first, cache.get(String.class));
+        assertNotSame(first, cache.get(Integer.class));
+        assertEquals(2, cache.computations);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void class_cache_does_not_keep_classes_alive() throws Exception {
+        CountingCache cache = new CountingCache();
+        Class<?> isolated = loadIsolatedBean();
+        assertNotSame(Bean.class, isolated);
+        cache.get(isolated);
+        assertEquals(1, cache.size());
+
+        isolated = null;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.size() > 0 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void concurrent_construction_resolves_the_same_values() throws Exception {
+        final Bean root = new Bean();
+        root.setChild(new Bean());
+        root.getChild().setName("child");
+        final int threadCount = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int x = 0; x < 2000; x++) {
+                            ReflectedProperty property = new ReflectedProperty(root,
+                                    x % 2 == 0 ? "Child.Name" : "Child.Child");
+                            Object value = property.getValue();
+                            if (x % 2 == 0 ? !"child".equals(value) : value != null) {
+                                throw new AssertionError("Thread " + thread + " read " + value);
+                            }
+                            new ReflectedProperty(new Bean(), "Name" + (x % 10)).getValue();
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    @Test
+    public void known_paths_are_bounded() {
+        Bean bean = new Bean();
+        List<ReflectedProperty> properties = new ArrayList<>();
+        for (int x = 0; x < ReflectedProperty.MAX_KNOWN_PATHS * 2; x++) {
+            properties.add(new ReflectedProperty(bean, "Unknown" + x));
+        }
+        assertTrue(ReflectedProperty.getKnownPathCount() <= ReflectedProperty.MAX_KNOWN_PATHS);
+
+        ReflectedProperty property = new ReflectedProperty(bean, "Name");
+        property.setValue("still works");
+        assertEquals("still works", bean.getName());
+        assertNull(properties.get(0).getValue());
+    }
+}
@@ -0,0 +1,141 @@
+package com.bindroid.utils;
+
+import com.bindroid.Binding;
+import com.bindroid.trackable.TrackableField;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ReflectedPropertySegmentTest {
+    /**
+     * A model node whose getters count how often they are read.
+     */
+    public static class Node {
+        private final TrackableField<Node> child = new TrackableField<>();
+        private final TrackableField<String> name = new TrackableField<>();
+        private final TrackableField<List<String>> items = new TrackableField<>();
+        final Map<String, Integer> reads = new HashMap<>();
+
+        private void read(String property) {
+            Integer count = reads.get(property);
+            reads.put(property, count == null ? 1 : count + 1);
+        }
+
+        int reads(String property) {
+            Integer count = reads.get(property);
+            return count == null ? 0 : count;
+        }
+
+        public Node getChild() { read("Child"); return child.get(); }
+
+        public void setChild(Node value) { child.set(value); }
+
+        public String getName() { read("Name"); return name.get(); }
+
+        public void setName(String value) { name.set(value); }
+
+        public List<String> getItems() { read("Items"); return items.get(); }
+
+        public void setItems(List<String> value) { items.set(value); }
+    }
+
+    private static Node chain(int depth) {
+        Node root = new Node();
+        Node current = root;
+        for (int x = 1; x < depth; x++) {
+            Node next = new Node();
+            current.setChild(next);
+            current = next;
+        }
+        current.setName("leaf");
+        return root;
+    }
+
+    private static Binding bind(ReflectedProperty source, final List<Object> seen) {
+        Property<Object> target = new Property<Object>(null, new Action<Object>() {
+            @Override
+            public void invoke(Object parameter) {
+                seen.add(parameter);
+            }
+        });
+        return new Binding(target, source);
+    }
+
+    @Test
+    public void cached_segments_read_the_same_values() {
+        Node root = chain(3);
+        ReflectedProperty property = new ReflectedProperty(root, "Child.Child.Name", true);
+        assertEquals("leaf", property.getValue());
+        assertEquals(String.class, property.getType());
+
+        property.setValue("renamed");
+        assertEquals("renamed", root.getChild().getChild().getName());
+        assertEquals("renamed", property.getValue());
+    }
+
+    @Test
+    public void change_at_the_leaf_rereads_only_the_leaf() {
+        Node root = chain(3);
+        Node middle = root.getChild();
+        Node leaf = middle.getChild();
+        root.reads.clear();
+        middle.reads.clear();
+        List<Object> seen = new ArrayList<>();
+        bind(new ReflectedProperty(root, "Child.Child.Name", true), seen);
+
+        leaf.setName("changed");
+        assertEquals(Arrays.<Object>asList("leaf", "changed"), seen);
+        assertEquals(1, root.reads("Child"));
+        assertEquals(1, middle.reads("Child"));
+        assertEquals(2, leaf.reads("Name"));
+    }
+
+    @Test
+    public void change_in_the_middle_rereads_from_that_segment() {
+        Node root = chain(3);
+        Node middle = root.getChild();
+        root.reads.clear();
+        List<Object> seen = new ArrayList<>();
+        bind(new ReflectedProperty(root, "Child.Child.Name", true), seen);
+
+        Node replacement = new Node();
+        replacement.setName("replacement");
+        middle.setChild(replacement);
+        assertEquals(Arrays.<Object>asList("leaf", "replacement"), seen);
+        assertEquals(1, root.reads("Child"));
+        assertEquals(2, middle.reads("Child"));
+
+        root.setChild(null);
+        assertEquals(Arrays.<Object>asList("leaf", "replacement", null), seen);
+    }
+
+    @Test
+    public void uncached_paths_reread_from_the_source() {
+        Node root = chain(3);
+        Node leaf = root.getChild().getChild();
+        root.reads.clear();
+        List<Object> seen = new ArrayList<>();
+        bind(new ReflectedProperty(root, "Child.Child.Name"), seen);
+
+        leaf.setName("changed");
+        assertEquals(2, root.reads("Child"));
+    }
+
+    @Test
+    public void cached_segments_support_indexers() {
+        Node root = chain(2);
+        root.getChild().setItems(Arrays.asList("a", "b"));
+        ReflectedProperty property = new ReflectedProperty(root, "Child.Items[1]", true);
+        assertEquals("b", property.getValue());
+
+        root.getChild().setItems(Arrays.asList("c", "d"));
+        assertEquals("d", property.getValue());
+    }
+}
@@ -3,6 +3,7 @@
  */
 package com.bindroid.trackable
 
+import com.bindroid.utils.Action
 import java.util.*
 import kotlin.properties.ReadWriteProperty
 import kotlin.reflect.KProperty
@@ -313,14 +314,13 @@ fun <T> track(toTrack: () -> T, action: TrackingScope<T>.(() -> T) -> Unit) {
     }
 }
 
-inline fun <T> TrackableCollection<T>.transaction(operation: TrackableCollection<T>.() -> Unit) {
-    try {
-        this.isTracking = false
-        this.operation()
-    } finally {
-        this.isTracking = true
-        this.updateTrackers()
-    }
+// Defers notifications from every Trackable updated by the action until it completes
+inline fun batch(crossinline action: () -> Unit) {
+    Trackable.batch(Action<Void> { action() })
+}
+
+inline fun <T> TrackableCollection<T>.transaction(crossinline operation: TrackableCollection<T>.() -> Unit) {
+    batch { this.operation() }
 }
 
 fun <T> TrackableCollection<T>.become(newValue: List<T>) {
@@ -1,5 +1,6 @@
 package com.bindroid.trackable
 
+import com.bindroid.utils.Function
 import org.junit.Assert.*
 import org.junit.Test
 
@@ -457,6 +458,37 @@ class TrackableUtilsTest {
         assertEquals("d", collection[3])
     }
 
+    @Test
+    fun trackableCollection_transaction_notifies_once() {
+        val collection = TrackableCollection<String>()
+        var updates = 0
+        Trackable.track(Tracker { updates++ }, Function<Int> { collection.size })
+
+        collection.transaction {
+            add("a")
+            add("b")
+            removeAt(0)
+        }
+
+        assertEquals(1, updates)
+        assertEquals(listOf("b"), collection.toList())
+    }
+
+    @Test
+    fun batch_defers_notifications_until_complete() {
+        val holder = Holder()
+        var updates = 0
+        Trackable.track(Tracker { updates++ }, Function<Int> { holder.value })
+
+        batch {
+            holder.value = 1
+            holder.value = 2
+            assertEquals(0, updates)
+        }
+
+        assertEquals(1, updates)
+    }
+
     @Test
     fun trackableCollection_become_simple() {
         val collection = TrackableCollection<String>()
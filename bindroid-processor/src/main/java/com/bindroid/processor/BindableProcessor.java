@@ -0,0 +1,311 @@
+package com.bindroid.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a com.bindroid.utils.BindableAccessorTable for each class annotated with
+ * com.bindroid.utils.Bindable, so that ReflectedProperty can read and write its properties without
+ * reflection.
+ */
+public class BindableProcessor extends AbstractProcessor {
+    static final String BINDABLE = "com.bindroid.utils.Bindable";
+    static final String CLASS_NAME_SUFFIX = "$$Accessors";
+
+    /**
+     * The getter and setter of one property, chosen as ReflectedProperty would choose them.
+     */
+    private static final class PropertyMethods {
+        final ExecutableElement getter;
+        final ExecutableElement setter;
+
+        PropertyMethods(ExecutableElement getter, ExecutableElement setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    private static String capitalize(String str) {
+        return str.substring(0, 1).toUpperCase() + str.substring(1);
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(BINDABLE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement bindable = this.processingEnv.getElementUtils().getTypeElement(BINDABLE);
+        if (bindable == null) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(bindable)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                this.error(element, "@Bindable can only be applied to classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (!this.isAccessible(type)) {
+                this.error(type, "@Bindable classes must not be private");
+                continue;
+            }
+            try {
+                this.generate(type);
+            } catch (IOException e) {
+                this.error(type, "Unable to write accessors: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        for (Element current = type; current instanceof TypeElement;
+             current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void error(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Finds the properties of a type, keyed by the capitalized property name that ReflectedProperty
+     * looks them up with. Each key is resolved with the same rules as ReflectedProperty's reflective
+     * lookup, so that a table never resolves a path to a different member than reflection would:
+     * "get{Key}", falling back to "is{Name}" for keys of the form "Is{Name}", and a setter taking the
+     * getter's type before any other, from "set{Key}" and then "set{Name}".
+     */
+    private Map<String, PropertyMethods> findProperties(TypeElement type) {
+        Map<String, ExecutableElement> getters = new LinkedHashMap<String, ExecutableElement>();
+        Map<String, List<ExecutableElement>> setters =
+                new LinkedHashMap<String, List<ExecutableElement>>();
+        Set<String> keys = new LinkedHashSet<String>();
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                this.processingEnv.getElementUtils().getAllMembers(type))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                    || ((TypeElement) method.getEnclosingElement()).getQualifiedName()
+                    .contentEquals("java.lang.Object")) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            int parameterCount = method.getParameters().size();
+            TypeKind returnKind = method.getReturnType().getKind();
+            if (parameterCount == 0 && returnKind != TypeKind.VOID) {
+                getters.put(name, method);
+                if (name.length() > 3 && name.startsWith("get")) {
+                    this.addKey(keys, name.substring(3));
+                } else if (name.length() > 2 && name.startsWith("is")) {
+                    this.addKey(keys, "Is" + name.substring(2));
+                }
+            } else if (parameterCount == 1) {
+                List<ExecutableElement> overloads = setters.get(name);
+                if (overloads == null) {
+                    overloads = new ArrayList<ExecutableElement>();
+                    setters.put(name, overloads);
+                }
+                overloads.add(method);
+                if (name.length() > 3 && name.startsWith("set")) {
+                    this.addKey(keys, name.substring(3));
+                }
+            }
+        }
+
+        Map<String, PropertyMethods> properties = new LinkedHashMap<String, PropertyMethods>();
+        for (String key : keys) {
+            boolean hasIs = key.startsWith("Is");
+            ExecutableElement getter = getters.get("get" + key);
+            if (getter == null && hasIs) {
+                getter = getters.get("is" + key.substring(2));
+            }
+            List<ExecutableElement> primary = setters.get("set" + key);
+            List<ExecutableElement> secondary = hasIs ? setters.get("set" + key.substring(2))
+                    : null;
+            ExecutableElement setter = null;
+            if (getter != null) {
+                TypeMirror getterType = this.erasure(getter.getReturnType());
+                setter = this.setterTaking(primary, getterType);
+                if (setter == null) {
+                    setter = this.setterTaking(secondary, getterType);
+                }
+            }
+            if (setter == null) {
+                setter = this.setterTaking(primary, null);
+            }
+            if (setter == null) {
+                setter = this.setterTaking(secondary, null);
+            }
+            if (getter != null || setter != null) {
+                properties.put(key, new PropertyMethods(getter, setter));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Adds a key if ReflectedProperty could look it up, which it only does with capitalized names.
+     */
+    private void addKey(Set<String> keys, String key) {
+        if (capitalize(key).equals(key)) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * @return the first of the given setters taking the given type, or the first of them if the type
+     * is null, or null if there are none.
+     */
+    private ExecutableElement setterTaking(List<ExecutableElement> setters, TypeMirror type) {
+        if (setters == null) {
+            return null;
+        }
+        for (ExecutableElement setter : setters) {
+            TypeMirror parameterType = this.erasure(setter.getParameters().get(0).asType());
+            if (type == null || this.processingEnv.getTypeUtils().isSameType(type, parameterType)) {
+                return setter;
+            }
+        }
+        return null;
+    }
+
+    private TypeMirror erasure(TypeMirror type) {
+        return this.processingEnv.getTypeUtils().erasure(type);
+    }
+
+    /**
+     * @return an expression converting the Object named value to the given parameter type. Like
+     * Method.invoke, which the reflective path uses, numeric primitives accept any boxed number
+     * rather than only their own box, so a binding that works through reflection keeps working once
+     * its class is annotated.
+     */
+    private String conversion(TypeMirror type) {
+        TypeMirror erased = this.erasure(type);
+        switch (erased.getKind()) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return "((Number) value)." + erased + "Value()";
+            case BOOLEAN:
+            case CHAR:
+                return "(" + this.processingEnv.getTypeUtils().boxedClass(
+                        this.processingEnv.getTypeUtils().getPrimitiveType(erased.getKind()))
+                        .getQualifiedName() + ") value";
+            default:
+                return "(" + erased + ") value";
+        }
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        PackageElement packageElement = this.processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? ""
+                : packageElement.getQualifiedName().toString();
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName
+                : binaryName.substring(packageName.length() + 1)) + CLASS_NAME_SUFFIX;
+        String targetName = this.erasure(type.asType()).toString();
+
+        StringBuilder accessors = new StringBuilder();
+        StringBuilder cases = new StringBuilder();
+        int index = 0;
+        for (Map.Entry<String, PropertyMethods> entry : this.findProperties(type).entrySet()) {
+            PropertyMethods methods = entry.getValue();
+            ExecutableElement getter = methods.getter;
+            ExecutableElement setter = methods.setter;
+            String fieldName = "PROPERTY_" + index++;
+            TypeMirror propertyType = getter != null ? getter.getReturnType()
+                    : setter.getParameters().get(0).asType();
+            accessors.append("    private static final BindableAccessor ").append(fieldName)
+                    .append(" = new BindableAccessor(").append(this.erasure(propertyType))
+                    .append(".class, ").append(getter != null).append(", ").append(setter != null)
+                    .append(") {\n");
+            // Both methods are always emitted; isReadable() and isWritable() keep callers from
+            // reaching the half that a property lacks.
+            accessors.append("        @Override\n")
+                    .append("        public Object getValue(Object target) {\n");
+            if (getter != null) {
+                accessors.append("            return ((").append(targetName).append(") target).")
+                        .append(getter.getSimpleName()).append("();\n");
+            } else {
+                accessors.append("            throw new UnsupportedOperationException(\"")
+                        .append(entry.getKey()).append(" cannot be read\");\n");
+            }
+            accessors.append("        }\n\n")
+                    .append("        @Override\n")
+                    .append("        public void setValue(Object target, Object value) {\n");
+            if (setter != null) {
+                accessors.append("            ((").append(targetName).append(") target).")
+                        .append(setter.getSimpleName()).append("(")
+                        .append(this.conversion(setter.getParameters().get(0).asType()))
+                        .append(");\n");
+            } else {
+                accessors.append("            throw new UnsupportedOperationException(\"")
+                        .append(entry.getKey()).append(" cannot be written\");\n");
+            }
+            accessors.append("        }\n");
+            accessors.append("    };\n\n");
+            cases.append("            case \"").append(entry.getKey()).append("\":\n")
+                    .append("                return ").append(fieldName).append(";\n");
+        }
+
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        JavaFileObject file = this.processingEnv.getFiler().createSourceFile(qualifiedName, type);
+        Writer writer = file.openWriter();
+        try {
+            writer.write("// Generated by bindroid-processor from " + targetName + ". Do not edit.\n");
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("import com.bindroid.utils.BindableAccessor;\n");
+            writer.write("import com.bindroid.utils.BindableAccessorTable;\n\n");
+            writer.write("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+            writer.write("public final class " + simpleName + " implements BindableAccessorTable {\n");
+            writer.write(accessors.toString());
+            writer.write("    @Override\n");
+            writer.write("    public BindableAccessor getAccessor(String propertyName) {\n");
+            writer.write("        switch (propertyName) {\n");
+            writer.write(cases.toString());
+            writer.write("            default:\n");
+            writer.write("                return null;\n");
+            writer.write("        }\n");
+            writer.write("    }\n");
+            writer.write("}\n");
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.bindroid.processor;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.*;
+
+public class BindableProcessorTest {
+    private static final String RUNTIME_SOURCES = "../Bindroid/src/com/bindroid/utils/";
+
+    private static final String MODEL = "package sample;\n"
+            + "import com.bindroid.utils.Bindable;\n"
+            + "@Bindable\n"
+            + "public class Model extends Base {\n"
+            + "    private String name;\n"
+            + "    private int count;\n"
+            + "    private boolean enabled;\n"
+            + "    public String getName() { return name; }\n"
+            + "    public void setName(String name) { this.name = name; }\n"
+            + "    public int getCount() { return count; }\n"
+            + "    public void setCount(int count) { this.count = count; }\n"
+            + "    public boolean isEnabled() { return enabled; }\n"
+            + "    public void setEnabled(boolean enabled) { this.enabled = enabled; }\n"
+            + "    public String getReadOnly() { return \"read only\"; }\n"
+            + "    public static String getStatic() { return null; }\n"
+            + "    @Bindable\n"
+            + "    public static class Nested { public long getId() { return 7L; } }\n"
+            + "}\n";
+
+    private static final String BASE = "package sample;\n"
+            + "public class Base {\n"
+            + "    private java.util.List<String> items;\n"
+            + "    public java.util.List<String> getItems() { return items; }\n"
+            + "    public void setItems(java.util.List<String> items) { this.items = items; }\n"
+            + "}\n";
+
+    private static final String PRIVATE_MODEL = "package sample;\n"
+            + "import com.bindroid.utils.Bindable;\n"
+            + "public class Outer {\n"
+            + "    @Bindable\n"
+            + "    private static class Hidden { public int getValue() { return 0; } }\n"
+            + "}\n";
+
+    private static File write(File directory, String path, String contents) throws IOException {
+        File file = new File(directory, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), contents.getBytes("UTF-8"));
+        return file;
+    }
+
+    private static DiagnosticCollector<JavaFileObject> compile(File output, File... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+                null);
+        List<File> files = new ArrayList<>(Arrays.asList(sources));
+        for (String runtime : new String[] {"Bindable.java", "BindableAccessor.java",
+                "BindableAccessorTable.java"}) {
+            files.add(new File(RUNTIME_SOURCES + runtime));
+        }
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                Arrays.asList("-d", output.getPath(), "-s", output.getPath()), null,
+                fileManager.getJavaFileObjectsFromFiles(files));
+        task.setProcessors(Arrays.asList(new BindableProcessor()));
+        task.call();
+        return diagnostics;
+    }
+
+    private static Object accessor(ClassLoader loader, String table, String property)
+            throws Exception {
+        Object instance = loader.loadClass(table).getConstructor().newInstance();
+        return instance.getClass().getMethod("getAccessor", String.class).invoke(instance,
+                property);
+    }
+
+    // Generated accessors are anonymous, so their methods are called through BindableAccessor.
+    private static Object get(Object accessor, Object target) throws Exception {
+        return accessor.getClass().getSuperclass().getMethod("getValue", Object.class)
+                .invoke(accessor, target);
+    }
+
+    private static void set(Object accessor, Object target, Object value) throws Exception {
+        accessor.getClass().getSuperclass().getMethod("setValue", Object.class, Object.class)
+                .invoke(accessor, target, value);
+    }
+
+    private static Object call(Object accessor, String method) throws Exception {
+        return accessor.getClass().getSuperclass().getMethod(method).invoke(accessor);
+    }
+
+    @Test
+    public void generates_working_accessor_tables() throws Exception {
+        File directory = Files.createTempDirectory("bindable").toFile();
+        File output = new File(directory, "out");
+        output.mkdirs();
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(output,
+                write(directory, "sample/Model.java", MODEL),
+                write(directory, "sample/Base.java", BASE));
+        assertTrue(diagnostics.getDiagnostics().toString(),
+                new File(output, "sample/Model$$Accessors.class").exists());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toURI().toURL()})) {
+            Object model = loader.loadClass("sample.Model").getConstructor().newInstance();
+            String table = "sample.Model$$Accessors";
+
+            Object name = accessor(loader, table, "Name");
+            set(name, model, "hello");
+            assertEquals("hello", get(name, model));
+            assertEquals(String.class, call(name, "getType"));
+
+            Object count = accessor(loader, table, "Count");
+            set(count, model, 3);
+            assertEquals(3, get(count, model));
+            assertEquals(int.class, call(count, "getType"));
+
+            Object enabled = accessor(loader, table, "IsEnabled");
+            set(enabled, model, true);
+            assertEquals(true, get(enabled, model));
+
+            Object readOnly = accessor(loader, table, "ReadOnly");
+            assertEquals(true, call(readOnly, "isReadable"));
+            assertEquals(false, call(readOnly, "isWritable"));
+            assertEquals("read only", get(readOnly, model));
+            try {
+                set(readOnly, model, "changed");
+                fail();
+            } catch (InvocationTargetException e) {
+                assertTrue(e.getCause() instanceof UnsupportedOperationException);
+            }
+
+            Object items = accessor(loader, table, "Items");
+            set(items, model, Arrays.asList("a"));
+            assertEquals(Arrays.asList("a"), get(items, model));
+
+            assertNull(accessor(loader, table, "Static"));
+            assertNull(accessor(loader, table, "Class"));
+            assertNull(accessor(loader, table, "Missing"));
+
+            Object nested = loader.loadClass("sample.Model$Nested").getConstructor()
+                    .newInstance();
+            assertEquals(7L, get(accessor(loader, "sample.Model$Nested$$Accessors", "Id"),
+                    nested));
+        }
+    }
+
+    @Test
+    public void rejects_private_classes() throws Exception {
+        File directory = Files.createTempDirectory("bindable").toFile();
+        File output = new File(directory, "out");
+        output.mkdirs();
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(output,
+                write(directory, "sample/Outer.java", PRIVATE_MODEL));
+        assertTrue(diagnostics.getDiagnostics().toString().contains("must not be private"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.bindroid.test;
+
+import java.util.concurrent.Callable;
+
+public final class BenchmarkUtils {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static Object sink;
+
+    /**
+     * Returns the approximate number of bytes retained by the object graph that allocate produces.
+     */
+    public static long retainedBytes(Callable<?> allocate) throws Exception {
+        long before = usedMemory();
+        BenchmarkUtils.sink = allocate.call();
+        long after = usedMemory();
+        BenchmarkUtils.sink = null;
+        return after - before;
+    }
+
+    /**
+     * Runs operation (which performs operationsPerRun operations) repeatedly and returns the best
+     * observed throughput in operations per millisecond.
+     */
+    public static double throughput(int operationsPerRun, Runnable operation) {
+        for (int x = 0; x < WARMUP_ROUNDS; x++) {
+            operation.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int x = 0; x < MEASURED_ROUNDS; x++) {
+            long start = System.nanoTime();
+            operation.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return operationsPerRun / Math.max(best / 1000000.0, 0.001);
+    }
+
+    /**
+     * Prints a line comparing a baseline measurement with the current one.
+     */
+    public static void report(String name, String unit, double baseline, double current) {
+        System.out.println(String.format("%s: baseline %.1f %s, current %.1f %s (%.2fx)", name,
+                baseline, unit, current, unit, current / baseline));
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int x = 0; x < 4; x++) {
+            runtime.gc();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private BenchmarkUtils() {
+    }
+}
@@ -0,0 +1,95 @@
+package com.bindroid.test;
+
+import com.bindroid.Binding;
+import com.bindroid.BindingMode;
+import com.bindroid.ValueConverter;
+import com.bindroid.trackable.Subscription;
+import com.bindroid.trackable.Trackable;
+import com.bindroid.trackable.Tracker;
+import com.bindroid.utils.Property;
+import com.bindroid.utils.ReflectedProperty;
+import com.bindroid.utils.WeakenedProperty;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares one-way propagation through a {@link Binding} against a copy of its original update
+ * path, which re-checked the mode, getters, setters and target type on every change.
+ */
+public class BindingBenchmarkTest extends TestCase {
+    private static final int UPDATE_COUNT = 100000;
+
+    /**
+     * The original one-way update path.
+     */
+    private static class BaselineBinding implements Tracker {
+        private final Property<?> targetProperty;
+        private final Property<?> sourceProperty;
+        private final Subscription sourceSubscription = new Subscription(this);
+        private final ValueConverter converter = ValueConverter.getDefaultConverter();
+        private final BindingMode mode = BindingMode.ONE_WAY;
+        @SuppressWarnings("unused")
+        private final Property<?> strongSource;
+
+        BaselineBinding(Property<?> targetProperty, Property<?> sourceProperty) {
+            this.strongSource = sourceProperty;
+            this.targetProperty = targetProperty;
+            this.sourceProperty = WeakenedProperty.weaken(sourceProperty);
+            this.update();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void update() {
+            try {
+                if (!(this.mode == BindingMode.TWO_WAY || this.mode == BindingMode.ONE_WAY)) {
+                    return;
+                }
+                if (this.sourceProperty.getGetter() == null
+                        || this.targetProperty.getSetter() == null) {
+                    return;
+                }
+                Object sourceValue = Trackable.track(this.sourceSubscription,
+                        this.sourceProperty.getGetter());
+                Object convertedValue = this.converter.convertToTarget(sourceValue,
+                        this.targetProperty.getType());
+                ((Property<Object>) this.targetProperty).setValue(convertedValue);
+            } catch (Exception e) {
+            }
+        }
+    }
+
+    private static double measure(final Nestable source) {
+        final String[] values = {"a", "b"};
+        return BenchmarkUtils.throughput(UPDATE_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < UPDATE_COUNT; x++) {
+                    source.setValue(values[x & 1]);
+                }
+            }
+        });
+    }
+
+    public void testOneWayPropagation() {
+        Nestable baselineSource = new Nestable();
+        Nestable baselineTarget = new Nestable();
+        BaselineBinding baselineBinding = new BaselineBinding(
+                new ReflectedProperty(baselineTarget, "Value"),
+                new ReflectedProperty(baselineSource, "Value"));
+        double baseline = measure(baselineSource);
+
+        Nestable source = new Nestable();
+        Nestable target = new Nestable();
+        Binding binding = new Binding(new ReflectedProperty(target, "Value"),
+                new ReflectedProperty(source, "Value"));
+        double current = measure(source);
+
+        assertEquals(baselineSource.getValue(), baselineTarget.getValue());
+        assertEquals(source.getValue(), target.getValue());
+        assertNotNull(baselineBinding);
+        assertNotNull(binding);
+        BenchmarkUtils.report("One-way ReflectedProperty binding updates", "updates/ms",
+                baseline, current);
+    }
+}
@@ -6,6 +6,7 @@ import com.bindroid.utils.GarbageCollectionListener;
 import junit.framework.TestCase;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GarbageCollectionListenerTest extends TestCase {
     public void testNotification() throws Exception {
@@ -27,4 +28,68 @@ public class GarbageCollectionListenerTest extends TestCase {
             assertTrue(bool.get());
         }
     }
+
+    public void testCollectionCount() throws Exception {
+        long before = GarbageCollectionListener.getCollectionCount();
+        long deadline = System.currentTimeMillis() + 1000;
+        while (GarbageCollectionListener.getCollectionCount() == before
+                && System.currentTimeMillis() < deadline) {
+            Runtime.getRuntime().gc();
+            Thread.sleep(10);
+        }
+        assertTrue(GarbageCollectionListener.getCollectionCount() > before);
+    }
+
+    public void testRemovedListenersAreNotNotified() throws Exception {
+        final AtomicInteger removedCalls = new AtomicInteger();
+        final AtomicInteger keptCalls = new AtomicInteger();
+        Action<Void> removed = new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                removedCalls.incrementAndGet();
+            }
+        };
+        Action<Void> kept = new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                keptCalls.incrementAndGet();
+            }
+        };
+        GarbageCollectionListener.addListener(removed);
+        GarbageCollectionListener.addListener(kept);
+        GarbageCollectionListener.removeListener(removed);
+        try {
+            long deadline = System.currentTimeMillis() + 1000;
+            while (keptCalls.get() == 0 && System.currentTimeMillis() < deadline) {
+                Runtime.getRuntime().gc();
+                Thread.sleep(10);
+            }
+            assertTrue(keptCalls.get() > 0);
+            assertEquals(0, removedCalls.get());
+        } finally {
+            GarbageCollectionListener.removeListener(kept);
+        }
+    }
+
+    public void testListenersThatThrowErrorsDoNotStopNotifications() throws Exception {
+        final AtomicInteger failingCalls = new AtomicInteger();
+        Action<Void> failing = new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                failingCalls.incrementAndGet();
+                throw new AssertionError("listener failure");
+            }
+        };
+        GarbageCollectionListener.addListener(failing);
+        try {
+            long deadline = System.currentTimeMillis() + 2000;
+            while (failingCalls.get() < 2 && System.currentTimeMillis() < deadline) {
+                Runtime.getRuntime().gc();
+                Thread.sleep(10);
+            }
+            assertTrue(failingCalls.get() >= 2);
+        } finally {
+            GarbageCollectionListener.removeListener(failing);
+        }
+    }
 }
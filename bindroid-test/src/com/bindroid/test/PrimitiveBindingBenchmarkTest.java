@@ -0,0 +1,63 @@
+package com.bindroid.test;
+
+import com.bindroid.Binding;
+import com.bindroid.trackable.TrackableInt;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Function;
+import com.bindroid.utils.IntProperty;
+import com.bindroid.utils.Property;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares bindings between two TrackableInts through boxed {@link Property Properties} and through
+ * {@link IntProperty IntProperties}.
+ */
+public class PrimitiveBindingBenchmarkTest extends TestCase {
+    private static final int UPDATE_COUNT = 100000;
+
+    private static Property<Integer> boxed(final TrackableInt field) {
+        return new Property<Integer>(new Function<Integer>() {
+            @Override
+            public Integer evaluate() {
+                return field.get();
+            }
+        }, new Action<Integer>() {
+            @Override
+            public void invoke(Integer parameter) {
+                field.set(parameter);
+            }
+        }, int.class);
+    }
+
+    private static double measure(final TrackableInt source) {
+        return BenchmarkUtils.throughput(UPDATE_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                // Values outside the Integer cache, so that each boxed update allocates.
+                for (int x = 0; x < UPDATE_COUNT; x++) {
+                    source.set(1000 + x);
+                }
+            }
+        });
+    }
+
+    public void testIntBindingThroughput() {
+        TrackableInt boxedSource = new TrackableInt();
+        TrackableInt boxedTarget = new TrackableInt();
+        Binding boxedBinding = new Binding(boxed(boxedTarget), boxed(boxedSource));
+        double baseline = measure(boxedSource);
+
+        TrackableInt source = new TrackableInt();
+        TrackableInt target = new TrackableInt();
+        Binding binding = new Binding(IntProperty.of(target), IntProperty.of(source));
+        double current = measure(source);
+
+        assertEquals(boxedSource.get(), boxedTarget.get());
+        assertEquals(source.get(), target.get());
+        assertNotNull(boxedBinding);
+        assertNotNull(binding);
+        BenchmarkUtils.report("TrackableInt to TrackableInt binding updates", "updates/ms",
+                baseline, current);
+    }
+}
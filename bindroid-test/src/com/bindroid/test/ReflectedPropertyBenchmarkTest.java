@@ -0,0 +1,195 @@
+package com.bindroid.test;
+
+import com.bindroid.utils.Pair;
+import com.bindroid.utils.ReflectedProperty;
+
+import junit.framework.TestCase;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares reads and writes through a {@link ReflectedProperty} path against a copy of its original
+ * per-read method lookup and against direct calls.
+ */
+public class ReflectedPropertyBenchmarkTest extends TestCase {
+    private static final int OPERATION_COUNT = 100000;
+
+    /**
+     * The original lookup, which built the method name and a Pair key on every access.
+     */
+    private static class BaselineLookup {
+        private static final Map<Pair<Class<?>, String>, Method> knownGetters =
+                new HashMap<Pair<Class<?>, String>, Method>();
+        private static final Map<Pair<Class<?>, String>, Method> knownSetters =
+                new HashMap<Pair<Class<?>, String>, Method>();
+
+        private static String capitalize(String str) {
+            return str.substring(0, 1).toUpperCase() + str.substring(1);
+        }
+
+        private static Method getMethodOrNull(Class<?> clazz, String methodName) {
+            try {
+                return clazz.getMethod(methodName);
+            } catch (NoSuchMethodException | SecurityException e) {
+                return null;
+            }
+        }
+
+        static Method getGetter(Class<?> clazz, String propertyName) {
+            String getterName = "get" + capitalize(propertyName);
+            Pair<Class<?>, String> id = new Pair<Class<?>, String>(clazz, getterName);
+            Method getter;
+            if (knownGetters.containsKey(id)) {
+                getter = knownGetters.get(id);
+            } else {
+                getter = getMethodOrNull(clazz, getterName);
+                knownGetters.put(id, getter);
+            }
+            return getter;
+        }
+
+        static Method getSetter(Class<?> clazz, String propertyName) {
+            String setterName = "set" + capitalize(propertyName);
+            Pair<Class<?>, String> id = new Pair<Class<?>, String>(clazz, setterName);
+            Method setter = null;
+            if (knownSetters.containsKey(id)) {
+                setter = knownSetters.get(id);
+            } else {
+                for (Method m : clazz.getMethods()) {
+                    if (m.getName().equals(setterName) && m.getParameterTypes().length == 1) {
+                        setter = m;
+                        break;
+                    }
+                }
+                knownSetters.put(id, setter);
+            }
+            return setter;
+        }
+
+        static Object get(Object root, String[] path) throws Exception {
+            Object current = root;
+            for (String part : path) {
+                current = getGetter(current.getClass(), part).invoke(current);
+            }
+            return current;
+        }
+
+        static void set(Object root, String[] path, Object value) throws Exception {
+            Object current = root;
+            for (int x = 0; x < path.length - 1; x++) {
+                current = getGetter(current.getClass(), path[x]).invoke(current);
+            }
+            getSetter(current.getClass(), path[path.length - 1]).invoke(current, value);
+        }
+    }
+
+    private static Nestable makeRoot() {
+        Nestable root = new Nestable();
+        Nestable child = new Nestable();
+        child.setValue("Hello");
+        root.setChild(child);
+        return root;
+    }
+
+    public void testPathReadThroughput() {
+        final Nestable root = makeRoot();
+        final String[] path = {"Child", "Value"};
+        final Object[] sink = new Object[1];
+        double baseline = BenchmarkUtils.throughput(OPERATION_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (int x = 0; x < OPERATION_COUNT; x++) {
+                        sink[0] = BaselineLookup.get(root, path);
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        final ReflectedProperty property = new ReflectedProperty(root, "Child.Value");
+        double current = BenchmarkUtils.throughput(OPERATION_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < OPERATION_COUNT; x++) {
+                    sink[0] = property.getValue();
+                }
+            }
+        });
+        double direct = BenchmarkUtils.throughput(OPERATION_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < OPERATION_COUNT; x++) {
+                    sink[0] = root.getChild().getValue();
+                }
+            }
+        });
+        assertEquals("Hello", property.getValue());
+        BenchmarkUtils.report("Reads of \"Child.Value\"", "ops/ms", baseline, current);
+        BenchmarkUtils.report("Reads of \"Child.Value\" against direct calls", "ops/ms", direct,
+                current);
+    }
+
+    public void testPathWriteThroughput() {
+        final Nestable root = makeRoot();
+        final String[] path = {"Child", "Value"};
+        final String[] values = {"a", "b"};
+        double baseline = BenchmarkUtils.throughput(OPERATION_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (int x = 0; x < OPERATION_COUNT; x++) {
+                        BaselineLookup.set(root, path, values[x & 1]);
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        final ReflectedProperty property = new ReflectedProperty(root, "Child.Value");
+        double current = BenchmarkUtils.throughput(OPERATION_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < OPERATION_COUNT; x++) {
+                    property.setValue(values[x & 1]);
+                }
+            }
+        });
+        property.setValue("Goodbye");
+        assertEquals("Goodbye", root.getChild().getValue());
+        BenchmarkUtils.report("Writes to \"Child.Value\"", "ops/ms", baseline, current);
+    }
+
+    public void testPolymorphicReadThroughput() {
+        final Object[] roots = {makeRoot(), new StringBuilder("Hello")};
+        final ReflectedProperty[] properties = {new ReflectedProperty(roots[0], "Class"),
+                new ReflectedProperty(roots[1], "Class")};
+        final String[] path = {"Class"};
+        final Object[] sink = new Object[1];
+        double baseline = BenchmarkUtils.throughput(OPERATION_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (int x = 0; x < OPERATION_COUNT; x++) {
+                        sink[0] = BaselineLookup.get(roots[x & 1], path);
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        double current = BenchmarkUtils.throughput(OPERATION_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < OPERATION_COUNT; x++) {
+                    sink[0] = properties[x & 1].getValue();
+                }
+            }
+        });
+        assertEquals(StringBuilder.class, properties[1].getValue());
+        BenchmarkUtils.report("Reads of one path from alternating classes", "ops/ms", baseline,
+                current);
+    }
+}
@@ -0,0 +1,278 @@
+package com.bindroid.test;
+
+import com.bindroid.trackable.Subscription;
+import com.bindroid.trackable.Trackable;
+import com.bindroid.trackable.TrackableInt;
+import com.bindroid.trackable.Tracker;
+import com.bindroid.utils.Action;
+
+import junit.framework.TestCase;
+
+import java.util.LinkedList;
+import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compares {@link Trackable} against a copy of its original LinkedList-based subscriber storage.
+ */
+public class TrackableBenchmarkTest extends TestCase {
+    private static final int FIELD_COUNT = 10000;
+    private static final int UPDATE_COUNT = 100000;
+
+    /**
+     * The original Trackable implementation, kept as a baseline.
+     */
+    private static class LinkedListTrackable {
+        private static ThreadLocal<Stack<Tracker>> trackersInFrame = new ThreadLocal<Stack<Tracker>>() {
+            @Override
+            protected Stack<Tracker> initialValue() {
+                return new Stack<Tracker>();
+            }
+        };
+
+        public static void track(Tracker tracker, Action<Void> action) {
+            final AtomicReference<Tracker> sourceTracker = new AtomicReference<Tracker>(tracker);
+            trackersInFrame.get().push(new Tracker() {
+                @Override
+                public void update() {
+                    Tracker source = sourceTracker.getAndSet(null);
+                    if (source != null) {
+                        source.update();
+                    }
+                }
+            });
+            try {
+                action.invoke(null);
+            } finally {
+                trackersInFrame.get().pop();
+            }
+        }
+
+        private LinkedList<Tracker> trackers = new LinkedList<Tracker>();
+
+        public void track() {
+            if (trackersInFrame.get().size() > 0) {
+                this.trackers.addAll(trackersInFrame.get());
+            }
+        }
+
+        public void updateTrackers() {
+            LinkedList<Tracker> trackers = this.trackers;
+            this.trackers = new LinkedList<Tracker>();
+            for (Tracker t : trackers) {
+                t.update();
+            }
+        }
+    }
+
+    private static class LinkedListTrackableInt extends LinkedListTrackable {
+        private int value;
+
+        public int get() {
+            this.track();
+            return this.value;
+        }
+
+        public void set(int value) {
+            if (this.value != value) {
+                this.value = value;
+                this.updateTrackers();
+            }
+        }
+    }
+
+    private static final Tracker NO_OP_TRACKER = new Tracker() {
+        @Override
+        public void update() {
+        }
+    };
+
+    public void testSubscribedFieldMemory() throws Exception {
+        long baseline = BenchmarkUtils.retainedBytes(new Callable<Object>() {
+            @Override
+            public Object call() {
+                final LinkedListTrackableInt[] fields = new LinkedListTrackableInt[FIELD_COUNT];
+                for (int x = 0; x < FIELD_COUNT; x++) {
+                    fields[x] = new LinkedListTrackableInt();
+                }
+                LinkedListTrackable.track(NO_OP_TRACKER, new Action<Void>() {
+                    @Override
+                    public void invoke(Void parameter) {
+                        for (LinkedListTrackableInt field : fields) {
+                            field.get();
+                        }
+                    }
+                });
+                return fields;
+            }
+        });
+        long current = BenchmarkUtils.retainedBytes(new Callable<Object>() {
+            @Override
+            public Object call() {
+                final TrackableInt[] fields = new TrackableInt[FIELD_COUNT];
+                for (int x = 0; x < FIELD_COUNT; x++) {
+                    fields[x] = new TrackableInt();
+                }
+                Trackable.track(NO_OP_TRACKER, new Action<Void>() {
+                    @Override
+                    public void invoke(Void parameter) {
+                        for (TrackableInt field : fields) {
+                            field.get();
+                        }
+                    }
+                });
+                return fields;
+            }
+        });
+        BenchmarkUtils.report("Bytes per subscribed field", "bytes", baseline / (double) FIELD_COUNT,
+                current / (double) FIELD_COUNT);
+    }
+
+    public void testResubscribingUpdateThroughput() {
+        final LinkedListTrackableInt baselineField = new LinkedListTrackableInt();
+        LinkedListTrackable.track(new Tracker() {
+            @Override
+            public void update() {
+                LinkedListTrackable.track(this, new Action<Void>() {
+                    @Override
+                    public void invoke(Void parameter) {
+                        baselineField.get();
+                    }
+                });
+            }
+        }, new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                baselineField.get();
+            }
+        });
+        double baseline = BenchmarkUtils.throughput(UPDATE_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < UPDATE_COUNT; x++) {
+                    baselineField.set(baselineField.value + 1);
+                }
+            }
+        });
+
+        final TrackableInt field = new TrackableInt();
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                Trackable.track(this, new Action<Void>() {
+                    @Override
+                    public void invoke(Void parameter) {
+                        field.get();
+                    }
+                });
+            }
+        }, new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                field.get();
+            }
+        });
+        final int[] next = new int[1];
+        double current = BenchmarkUtils.throughput(UPDATE_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < UPDATE_COUNT; x++) {
+                    field.set(++next[0]);
+                }
+            }
+        });
+        BenchmarkUtils.report("Re-subscribing updates", "ops/ms", baseline, current);
+
+        final TrackableInt reusedField = new TrackableInt();
+        final Action<Void> read = new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                reusedField.get();
+            }
+        };
+        final Subscription[] subscription = new Subscription[1];
+        subscription[0] = new Subscription(new Tracker() {
+            @Override
+            public void update() {
+                Trackable.track(subscription[0], read);
+            }
+        });
+        Trackable.track(subscription[0], read);
+        double reused = BenchmarkUtils.throughput(UPDATE_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < UPDATE_COUNT; x++) {
+                    reusedField.set(++next[0]);
+                }
+            }
+        });
+        BenchmarkUtils.report("Re-subscribing updates with a reused Subscription", "ops/ms",
+                baseline, reused);
+    }
+
+    public void testRepeatedReadThroughput() {
+        final LinkedListTrackableInt baselineField = new LinkedListTrackableInt();
+        final Action<Void> baselineRead = new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                for (int x = 0; x < 100; x++) {
+                    baselineField.get();
+                }
+            }
+        };
+        double baseline = BenchmarkUtils.throughput(UPDATE_COUNT / 100, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < UPDATE_COUNT / 100; x++) {
+                    LinkedListTrackable.track(NO_OP_TRACKER, baselineRead);
+                    baselineField.set(baselineField.value + 1);
+                }
+            }
+        });
+
+        final TrackableInt field = new TrackableInt();
+        final Action<Void> read = new Action<Void>() {
+            @Override
+            public void invoke(Void parameter) {
+                for (int x = 0; x < 100; x++) {
+                    field.get();
+                }
+            }
+        };
+        final int[] next = new int[1];
+        double current = BenchmarkUtils.throughput(UPDATE_COUNT / 100, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < UPDATE_COUNT / 100; x++) {
+                    Trackable.track(NO_OP_TRACKER, read);
+                    field.set(++next[0]);
+                }
+            }
+        });
+        BenchmarkUtils.report("Track 100 reads then update", "ops/ms", baseline, current);
+    }
+
+    public void testUntrackedReadThroughput() {
+        final LinkedListTrackableInt baselineField = new LinkedListTrackableInt();
+        final int[] sum = new int[1];
+        double baseline = BenchmarkUtils.throughput(UPDATE_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < UPDATE_COUNT; x++) {
+                    sum[0] += baselineField.get();
+                }
+            }
+        });
+        final TrackableInt field = new TrackableInt();
+        double current = BenchmarkUtils.throughput(UPDATE_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < UPDATE_COUNT; x++) {
+                    sum[0] += field.get();
+                }
+            }
+        });
+        BenchmarkUtils.report("Reads outside of any frame", "ops/ms", baseline, current);
+    }
+}
@@ -0,0 +1,98 @@
+package com.bindroid.test;
+
+import com.bindroid.trackable.Trackable;
+import com.bindroid.trackable.TrackableCollection;
+import com.bindroid.trackable.Tracker;
+import com.bindroid.utils.Action;
+
+import junit.framework.TestCase;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Compares iterating over a {@link TrackableCollection} inside a tracked frame against a copy of its
+ * original iterator, which called {@link TrackableCollection#size()} and
+ * {@link TrackableCollection#get(int)} for every item.
+ */
+public class TrackableCollectionBenchmarkTest extends TestCase {
+    private static final int ITEM_COUNT = 100000;
+    private static final int PASS_COUNT = 10;
+
+    private static final Tracker NO_OP_TRACKER = new Tracker() {
+        @Override
+        public void update() {
+        }
+    };
+
+    /**
+     * The original iterator, kept as a baseline.
+     */
+    private static <T> Iterator<T> indexIterator(final TrackableCollection<T> collection) {
+        return new Iterator<T>() {
+            private int curIndex = -1;
+
+            @Override
+            public boolean hasNext() {
+                return curIndex < collection.size() - 1;
+            }
+
+            @Override
+            public T next() {
+                if (curIndex >= collection.size() - 1) {
+                    throw new NoSuchElementException();
+                }
+                return collection.get(++curIndex);
+            }
+
+            @Override
+            public void remove() {
+                collection.remove(curIndex);
+            }
+        };
+    }
+
+    public void testTrackedIterationThroughput() {
+        final TrackableCollection<Integer> collection = new TrackableCollection<Integer>();
+        for (int x = 0; x < ITEM_COUNT; x++) {
+            collection.add(x);
+        }
+        final long[] sums = new long[2];
+
+        double baseline = BenchmarkUtils.throughput(ITEM_COUNT * PASS_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < PASS_COUNT; x++) {
+                    Trackable.track(NO_OP_TRACKER, new Action<Void>() {
+                        @Override
+                        public void invoke(Void parameter) {
+                            Iterator<Integer> iterator = indexIterator(collection);
+                            while (iterator.hasNext()) {
+                                sums[0] += iterator.next();
+                            }
+                        }
+                    });
+                }
+            }
+        });
+        double current = BenchmarkUtils.throughput(ITEM_COUNT * PASS_COUNT, new Runnable() {
+            @Override
+            public void run() {
+                for (int x = 0; x < PASS_COUNT; x++) {
+                    Trackable.track(NO_OP_TRACKER, new Action<Void>() {
+                        @Override
+                        public void invoke(Void parameter) {
+                            for (int value : collection) {
+                                sums[1] += value;
+                            }
+                        }
+                    });
+                }
+            }
+        });
+
+        assertEquals(sums[0], sums[1]);
+        BenchmarkUtils.report("Tracked iteration over " + ITEM_COUNT + " items", "items/ms",
+                baseline, current);
+    }
+}
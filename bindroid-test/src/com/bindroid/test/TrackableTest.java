@@ -1,6 +1,7 @@
 package com.bindroid.test;
 
 import com.bindroid.trackable.ComparingTrackableField;
+import com.bindroid.trackable.Subscription;
 import com.bindroid.trackable.Trackable;
 import com.bindroid.trackable.TrackableBoolean;
 import com.bindroid.trackable.TrackableByte;
@@ -17,6 +18,10 @@ import com.bindroid.utils.EqualityComparer;
 
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class TrackableTest extends TestCase {
@@ -769,4 +774,213 @@ public class TrackableTest extends TestCase {
         assertEquals((short) 300, field.get());
         assertEquals((short) 150, toSet.get().shortValue());
     }
+
+    public void testManyTrackersAreEachNotifiedOnce() {
+        final TrackableField<Integer> field = new TrackableField<Integer>(0);
+        final AtomicInteger updates = new AtomicInteger();
+        for (int x = 0; x < 10; x++) {
+            Trackable.track(new Tracker() {
+                @Override
+                public void update() {
+                    updates.incrementAndGet();
+                }
+            }, new Action<Void>() {
+                @Override
+                public void invoke(Void o) {
+                    field.get();
+                }
+            });
+        }
+        field.set(1);
+        assertEquals(10, updates.get());
+        field.set(2);
+        assertEquals(10, updates.get());
+    }
+
+    public void testManyPersistentTrackers() {
+        final TrackableField<Integer> field = new TrackableField<Integer>(0);
+        List<AtomicReference<Integer>> values = new ArrayList<AtomicReference<Integer>>();
+        for (int x = 0; x < 10; x++) {
+            AtomicReference<Integer> toSet = new AtomicReference<Integer>();
+            beginTracking(field, toSet);
+            values.add(toSet);
+        }
+        for (int x = 1; x <= 3; x++) {
+            field.set(x);
+            for (AtomicReference<Integer> value : values) {
+                assertEquals(x, value.get().intValue());
+            }
+        }
+    }
+
+    public void testRepeatedReadsNotifyOnce() {
+        final TrackableField<Integer> field = new TrackableField<Integer>(0);
+        final AtomicInteger updates = new AtomicInteger();
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                updates.incrementAndGet();
+            }
+        }, new Action<Void>() {
+            @Override
+            public void invoke(Void o) {
+                for (int x = 0; x < 100; x++) {
+                    field.get();
+                }
+            }
+        });
+        field.set(1);
+        assertEquals(1, updates.get());
+    }
+
+    public void testNestedFramesEachSubscribeOnce() {
+        final TrackableField<Integer> field = new TrackableField<Integer>(0);
+        final AtomicInteger outerUpdates = new AtomicInteger();
+        final AtomicInteger innerUpdates = new AtomicInteger();
+        Trackable.track(new Tracker() {
+            @Override
+            public void update() {
+                outerUpdates.incrementAndGet();
+            }
+        }, new Action<Void>() {
+            @Override
+            public void invoke(Void o) {
+                field.get();
+                Trackable.track(new Tracker() {
+                    @Override
+                    public void update() {
+                        innerUpdates.incrementAndGet();
+                    }
+                }, new Action<Void>() {
+                    @Override
+                    public void invoke(Void o) {
+                        for (int x = 0; x < 100; x++) {
+                            field.get();
+                        }
+                    }
+                });
+                for (int x = 0; x < 100; x++) {
+                    field.get();
+                }
+            }
+        });
+        field.set(1);
+        assertEquals(1, outerUpdates.get());
+        assertEquals(1, innerUpdates.get());
+        field.set(2);
+        assertEquals(1, outerUpdates.get());
+        assertEquals(1, innerUpdates.get());
+    }
+
+    public void testReusedSubscription() {
+        final TrackableField<Integer> field = new TrackableField<Integer>(0);
+        final AtomicReference<Integer> toSet = new AtomicReference<Integer>();
+        final Action<Void> read = new Action<Void>() {
+            @Override
+            public void invoke(Void o) {
+                toSet.set(field.get());
+            }
+        };
+        final Subscription[] subscription = new Subscription[1];
+        subscription[0] = new Subscription(new Tracker() {
+            @Override
+            public void update() {
+                Trackable.track(subscription[0], read);
+            }
+        });
+        Trackable.track(subscription[0], read);
+        for (int x = 1; x <= 3; x++) {
+            field.set(x);
+            assertEquals(x, toSet.get().intValue());
+        }
+    }
+
+    public void testSubscriptionNotifiedOncePerGeneration() {
+        final TrackableField<Integer> first = new TrackableField<Integer>(0);
+        final TrackableField<Integer> second = new TrackableField<Integer>(0);
+        final AtomicInteger updates = new AtomicInteger();
+        Subscription subscription = new Subscription(new Tracker() {
+            @Override
+            public void update() {
+                updates.incrementAndGet();
+            }
+        });
+        Trackable.track(subscription, new Action<Void>() {
+            @Override
+            public void invoke(Void o) {
+                first.get();
+                second.get();
+            }
+        });
+        first.set(1);
+        second.set(1);
+        assertEquals(1, updates.get());
+    }
+
+    public void testRenewedSubscriptionForgetsPreviousGeneration() {
+        final TrackableField<Integer> first = new TrackableField<Integer>(0);
+        final TrackableField<Integer> second = new TrackableField<Integer>(0);
+        final AtomicInteger updates = new AtomicInteger();
+        Subscription subscription = new Subscription(new Tracker() {
+            @Override
+            public void update() {
+                updates.incrementAndGet();
+            }
+        });
+        Trackable.track(subscription, new Action<Void>() {
+            @Override
+            public void invoke(Void o) {
+                first.get();
+            }
+        });
+        Trackable.track(subscription, new Action<Void>() {
+            @Override
+            public void invoke(Void o) {
+                second.get();
+            }
+        });
+        first.set(1);
+        assertEquals(0, updates.get());
+        second.set(1);
+        assertEquals(1, updates.get());
+    }
+
+    public void testFramesAreTrackedPerThread() throws Exception {
+        final TrackableField<Integer> field = new TrackableField<Integer>(0);
+        final TrackableField<Integer> otherField = new TrackableField<Integer>(0);
+        final AtomicInteger updates = new AtomicInteger();
+        final CountDownLatch frameOpen = new CountDownLatch(1);
+        final CountDownLatch readDone = new CountDownLatch(1);
+        Thread trackingThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Trackable.track(new Tracker() {
+                    @Override
+                    public void update() {
+                        updates.incrementAndGet();
+                    }
+                }, new Action<Void>() {
+                    @Override
+                    public void invoke(Void o) {
+                        otherField.get();
+                        frameOpen.countDown();
+                        try {
+                            readDone.await();
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                });
+            }
+        });
+        trackingThread.start();
+        frameOpen.await();
+        field.get();
+        readDone.countDown();
+        trackingThread.join();
+        field.set(1);
+        assertEquals(0, updates.get());
+        otherField.set(1);
+        assertEquals(1, updates.get());
+    }
 }
@@ -0,0 +1,105 @@
+package com.bindroid.test;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.bindroid.ui.UiProperty;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Property;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Compares blocking and asynchronous {@link UiProperty} setters under concurrent writers.
+ */
+public class UiPropertyBenchmarkTest extends TestCase {
+    private static final int WRITER_COUNT = 4;
+    private static final int WRITES_PER_WRITER = 500;
+
+    private static final Handler UI_THREAD_HANDLER = new Handler(Looper.getMainLooper());
+
+    private static class Target extends Property<Integer> {
+        private volatile int value = -1;
+
+        Target() {
+            this.propertyType = Integer.class;
+            this.setter = new Action<Integer>() {
+                @Override
+                public void invoke(Integer parameter) {
+                    Target.this.value = parameter;
+                }
+            };
+        }
+    }
+
+    /**
+     * Runs every writer concurrently, each setting its own property, then waits for the UI thread
+     * to catch up so that values still in flight are counted.
+     */
+    private static void writeConcurrently(final UiProperty<Integer>[] properties) {
+        final CountDownLatch done = new CountDownLatch(WRITER_COUNT);
+        for (int t = 0; t < WRITER_COUNT; t++) {
+            final UiProperty<Integer> property = properties[t];
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int x = 0; x < WRITES_PER_WRITER; x++) {
+                        property.setValue(x);
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+        try {
+            done.await();
+            final CountDownLatch idle = new CountDownLatch(1);
+            UI_THREAD_HANDLER.post(new Runnable() {
+                @Override
+                public void run() {
+                    idle.countDown();
+                }
+            });
+            idle.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testConcurrentWriterThroughput() {
+        final Target[] blockingTargets = new Target[WRITER_COUNT];
+        final UiProperty<Integer>[] blocking = new UiProperty[WRITER_COUNT];
+        final Target[] asyncTargets = new Target[WRITER_COUNT];
+        final UiProperty<Integer>[] async = new UiProperty[WRITER_COUNT];
+        for (int t = 0; t < WRITER_COUNT; t++) {
+            blockingTargets[t] = new Target();
+            blocking[t] = UiProperty.make(blockingTargets[t]);
+            asyncTargets[t] = new Target();
+            async[t] = UiProperty.makeAsync(asyncTargets[t]);
+        }
+
+        double baseline = BenchmarkUtils.throughput(WRITER_COUNT * WRITES_PER_WRITER,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        writeConcurrently(blocking);
+                    }
+                });
+        double current = BenchmarkUtils.throughput(WRITER_COUNT * WRITES_PER_WRITER,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        writeConcurrently(async);
+                    }
+                });
+        BenchmarkUtils.report("Concurrent UiProperty writes (blocking vs async)", "ops/ms", baseline,
+                current);
+
+        for (int t = 0; t < WRITER_COUNT; t++) {
+            assertEquals(WRITES_PER_WRITER - 1, blockingTargets[t].value);
+            assertEquals(WRITES_PER_WRITER - 1, asyncTargets[t].value);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bindroid.test;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.bindroid.ui.UiProperty;
+import com.bindroid.utils.Action;
+import com.bindroid.utils.Function;
+import com.bindroid.utils.Property;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class UiPropertyTest extends TestCase {
+    private static final Handler UI_THREAD_HANDLER = new Handler(Looper.getMainLooper());
+
+    private static void waitForUiThread() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        UI_THREAD_HANDLER.post(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    private static Property<Integer> recording(final List<Integer> applied,
+                                               final List<Boolean> onUiThread) {
+        return new Property<Integer>(new Function<Integer>() {
+            @Override
+            public Integer evaluate() {
+                return applied.isEmpty() ? null : applied.get(applied.size() - 1);
+            }
+        }, new Action<Integer>() {
+            @Override
+            public void invoke(Integer parameter) {
+                onUiThread.add(Looper.myLooper() == Looper.getMainLooper());
+                applied.add(parameter);
+            }
+        }, Integer.class);
+    }
+
+    public void testBlockingSetterAppliesBeforeReturning() {
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<Integer>());
+        List<Boolean> onUiThread = Collections.synchronizedList(new ArrayList<Boolean>());
+        UiProperty<Integer> property = UiProperty.make(recording(applied, onUiThread));
+
+        property.setValue(1);
+        assertEquals(1, applied.size());
+        assertEquals(Integer.valueOf(1), property.getValue());
+        assertEquals(Boolean.TRUE, onUiThread.get(0));
+    }
+
+    public void testAsyncSetterAppliesOnUiThread() throws Exception {
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<Integer>());
+        List<Boolean> onUiThread = Collections.synchronizedList(new ArrayList<Boolean>());
+        UiProperty<Integer> property = UiProperty.makeAsync(recording(applied, onUiThread));
+
+        property.setValue(1);
+        waitForUiThread();
+        assertEquals(1, applied.size());
+        assertEquals(Integer.valueOf(1), property.getValue());
+        assertEquals(Boolean.TRUE, onUiThread.get(0));
+    }
+
+    public void testAsyncSetterDropsStaleValues() throws Exception {
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<Integer>());
+        List<Boolean> onUiThread = Collections.synchronizedList(new ArrayList<Boolean>());
+        final UiProperty<Integer> property = UiProperty.makeAsync(recording(applied, onUiThread));
+
+        // Hold the UI thread so that every value is queued behind it.
+        final CountDownLatch release = new CountDownLatch(1);
+        UI_THREAD_HANDLER.post(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        for (int x = 0; x < 100; x++) {
+            property.setValue(x);
+        }
+        release.countDown();
+        waitForUiThread();
+        assertEquals(Collections.singletonList(99), applied);
+    }
+}